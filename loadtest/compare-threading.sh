@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Runs the same load against the packaged API twice, with platform request threads and then with
+# virtual threads, and appends both rows to loadtest/target/threading-comparison.csv.
+#
+# Needs a Postgres reachable with the datasource below (Flyway creates the schema) and the app jar:
+#   ./mvnw package -DskipTests
+# Any ThreadingLoadTest argument can be passed through, e.g. ./loadtest/compare-threading.sh --concurrency=800
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="$ROOT/loadtest/target"
+JAR="$(ls "$ROOT"/target/todoapi-*.jar | grep -v '\.original$' | head -n 1)"
+PORT="${PORT:-8080}"
+
+export SPRING_DATASOURCE_URL="${SPRING_DATASOURCE_URL:-jdbc:postgresql://localhost:5432/todoapi?reWriteBatchedInserts=true}"
+export SPRING_DATASOURCE_USERNAME="${SPRING_DATASOURCE_USERNAME:-dev}"
+export SPRING_DATASOURCE_PASSWORD="${SPRING_DATASOURCE_PASSWORD:-1234567}"
+# Every read goes to the database, which is the blocking the threading modes differ on.
+export TASK_CACHE_ENABLED=false
+export JWT_SECRET=loadtest
+
+mkdir -p "$OUT"
+"$ROOT/mvnw" -q -f "$ROOT/loadtest/pom.xml" compile
+
+for VIRTUAL_THREADS in false true; do
+  export VIRTUAL_THREADS
+  LABEL=$([ "$VIRTUAL_THREADS" = true ] && echo virtual || echo platform)
+
+  java -jar "$JAR" --server.port="$PORT" > "$OUT/app-$LABEL.log" 2>&1 &
+  APP=$!
+  trap 'kill $APP 2>/dev/null || true' EXIT
+
+  # /docs is public, so it answers as soon as the app is up.
+  until curl -sf -o /dev/null "http://localhost:$PORT/docs"; do
+    kill -0 $APP 2>/dev/null || { echo "App failed to start, see $OUT/app-$LABEL.log"; exit 1; }
+    sleep 1
+  done
+
+  java -cp "$ROOT/loadtest/target/classes" com.samanthamaiaduarte.todoapi.loadtest.ThreadingLoadTest \
+    --url="http://localhost:$PORT" --label="$LABEL" --out="$OUT/threading-comparison.csv" "$@"
+
+  kill $APP
+  wait $APP 2>/dev/null || true
+done
+
+column -s, -t < "$OUT/threading-comparison.csv"
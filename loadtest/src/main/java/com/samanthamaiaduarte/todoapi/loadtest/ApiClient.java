@@ -0,0 +1,133 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The few API calls the load tests make, over one shared HTTP/1.1 client. Responses are read with
+ * regular expressions: only the access token and task ids are ever needed.
+ */
+final class ApiClient {
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern TASK_ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String url;
+
+    ApiClient(String url) {
+        this.url = url;
+    }
+
+    void register(String login, String password) {
+        expectOk(send(post("/auth/register", credentials(login, password), null)));
+    }
+
+    String login(String login, String password) {
+        return accessToken(expectOk(send(post("/auth/login", credentials(login, password), null))).body());
+    }
+
+    // Ids of the created tasks, in the order they were sent.
+    List<String> createTasks(String token, List<String> tasks) {
+        return ids(expectOk(send(post("/tasks/batch", "[" + String.join(",", tasks) + "]", token))).body());
+    }
+
+    List<String> taskIds(String token, int limit) {
+        return ids(expectOk(send(get("/tasks?limit=" + limit, token))).body());
+    }
+
+    HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    HttpRequest post(String path, String body, String token) {
+        return request(path, token).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    HttpRequest put(String path, String body, String token) {
+        return request(path, token).header("Content-Type", "application/json").PUT(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    HttpRequest patch(String path, String token) {
+        return request(path, token).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    HttpRequest delete(String path, String token) {
+        return request(path, token).DELETE().build();
+    }
+
+    HttpResponse<String> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    // Status only: the body is read and dropped, for the requests whose latency is measured.
+    int status(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    static String taskJson(String title, String description, LocalDate dueDate) {
+        return "{\"title\":\"" + title + "\",\"description\":" + (description == null ? "null" : "\"" + description + "\"")
+                + ",\"dueDate\":\"" + dueDate + "\"}";
+    }
+
+    static List<String> ids(String body) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = TASK_ID.matcher(body);
+        while(matcher.find()) ids.add(matcher.group(1));
+        return ids;
+    }
+
+    static String accessToken(String body) {
+        return match(ACCESS_TOKEN, body);
+    }
+
+    static String firstId(String body) {
+        return match(TASK_ID, body);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + path)).timeout(TIMEOUT);
+        if(token != null) request.header("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static HttpResponse<String> expectOk(HttpResponse<String> response) {
+        if(response.statusCode() >= 400) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri() + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    static String credentials(String login, String password) {
+        return "{\"login\":\"" + login + "\",\"password\":\"" + password + "\"}";
+    }
+
+    private static String match(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if(!matcher.find()) throw new IllegalStateException("Unexpected response: " + body);
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeds through the API itself: register, login and /tasks/batch. Registration goes through BCrypt,
+ * so this suits the few hundred users of a load test, not a large dataset.
+ */
+final class ApiSeeder {
+    static final String PASSWORD = "loadtest";
+    private static final int BATCH_SIZE = 1000;
+    // Stays within the password hashing queue, which answers 503 beyond it.
+    static final int CONCURRENCY = 4;
+
+    private final ApiClient api;
+
+    ApiSeeder(ApiClient api) {
+        this.api = api;
+    }
+
+    List<SeededUser> seed(int users, int tasksPerUser) throws Exception {
+        String prefix = "loadtest-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+        try(ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<SeededUser>> futures = new ArrayList<>(users);
+            for(int i = 0; i < users; i++) {
+                String login = prefix + i;
+                futures.add(executor.submit(() -> seedUser(login, tasksPerUser)));
+            }
+
+            List<SeededUser> seeded = new ArrayList<>(users);
+            for(Future<SeededUser> future : futures) seeded.add(future.get());
+            return seeded;
+        }
+    }
+
+    private SeededUser seedUser(String login, int tasks) {
+        api.register(login, PASSWORD);
+        String token = api.login(login, PASSWORD);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate today = LocalDate.now();
+        List<String> taskIds = new ArrayList<>(tasks);
+
+        for(int offset = 0; offset < tasks; offset += BATCH_SIZE) {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            for(int i = offset; i < Math.min(tasks, offset + BATCH_SIZE); i++) {
+                batch.add(ApiClient.taskJson("Seeded task " + i, "Seeded by the load test", today.plusDays(random.nextInt(120))));
+            }
+            taskIds.addAll(api.createTasks(token, batch));
+        }
+
+        return new SeededUser(login, PASSWORD, taskIds);
+    }
+}
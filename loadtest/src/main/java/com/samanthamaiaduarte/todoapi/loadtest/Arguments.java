@@ -0,0 +1,29 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.util.List;
+
+/**
+ * {@code --name=value} command line arguments; the last occurrence of a name wins.
+ */
+record Arguments(List<String> values) {
+    static Arguments parse(String[] args) {
+        return new Arguments(List.of(args));
+    }
+
+    String get(String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        return values.stream()
+                .filter(value -> value.startsWith(prefix))
+                .map(value -> value.substring(prefix.length()))
+                .reduce((first, last) -> last)
+                .orElse(defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return Integer.parseInt(get(name, String.valueOf(defaultValue)));
+    }
+
+    double getDouble(String name, double defaultValue) {
+        return Double.parseDouble(get(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,218 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Loads users and tasks straight into the database with COPY, for datasets the API can't seed in any
+ * reasonable time (every registration is a BCrypt hash and every task a row-by-row insert).
+ * <p>
+ * All users share one password, hashed once, so they can log in through the API as usual, and ids are
+ * version 7 like the ones the application assigns. The dataset is a list of tiers,
+ * {@code 1000x10,100x1000,10x100000} being 1000 users with 10 tasks, 100 with 1000 and 10 with 100000. Tiers are cut into units of about {@value #UNIT_ROWS} tasks, each loaded by its
+ * own connection in its own transaction, users first so the foreign key holds.
+ * <p>
+ * Tasks are skewed the way real lists are: most are due in the next weeks and a fifth are overdue,
+ * overdue tasks are completed far more often than future ones (and some users far more than others),
+ * and descriptions are often missing and otherwise mostly short.
+ * <p>
+ * Runs standalone against any migrated database, e.g. before a benchmark:
+ * {@code --db=jdbc:postgresql://localhost:5432/todoapi --db-user=dev --db-password=1234567
+ * --dataset=1000x10,100x1000,10x100000 --out=target/dataset}. The seeded logins are written to
+ * {@code users.csv} in {@code --out}.
+ */
+public final class DatasetSeeder {
+    static final String PASSWORD = ApiSeeder.PASSWORD;
+    private static final int UNIT_ROWS = 200_000;
+    // Tasks per user kept in memory for the load test to update and delete, whatever the size of the user.
+    private static final int KEPT_IDS = 1000;
+    private static final int FLUSH_CHARS = 1 << 20;
+    private static final String[] WORDS = ("call review send book pay plan fix clean write buy check order update prepare "
+            + "schedule renew cancel email report meeting invoice doctor groceries car house garden project budget "
+            + "draft slides team client tickets taxes dentist birthday gift flight hotel backup server release notes").split(" ");
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final int threads;
+
+    DatasetSeeder(String jdbcUrl, String username, String password, int threads) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        Path out = Path.of(arguments.get("out", "target/dataset"));
+        Files.createDirectories(out);
+
+        DatasetSeeder seeder = new DatasetSeeder(arguments.get("db", "jdbc:postgresql://localhost:5432/todoapi"),
+                arguments.get("db-user", "dev"), arguments.get("db-password", "1234567"),
+                arguments.getInt("seed-threads", Runtime.getRuntime().availableProcessors()));
+
+        writeLogins(seeder.seed(parseTiers(arguments.get("dataset", "1000x10,100x1000,10x100000"))), out.resolve("users.csv"));
+    }
+
+    record Tier(int users, int tasksPerUser) {
+    }
+
+    // 1000x10,100x1000 -> users x tasks per user.
+    static List<Tier> parseTiers(String dataset) {
+        List<Tier> tiers = new ArrayList<>();
+        for(String tier : dataset.split(",")) {
+            String[] parts = tier.trim().toLowerCase(Locale.ROOT).split("x");
+            if(parts.length != 2) throw new IllegalArgumentException("Invalid dataset tier: " + tier);
+            tiers.add(new Tier(Integer.parseInt(parts[0]), Integer.parseInt(parts[1])));
+        }
+        return tiers;
+    }
+
+    List<SeededUser> seed(List<Tier> tiers) throws Exception {
+        String hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(10));
+        String prefix = "seed-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+        List<List<PlannedUser>> units = new ArrayList<>();
+        List<PlannedUser> unit = new ArrayList<>();
+        long unitRows = 0;
+        long totalRows = 0;
+        for(Tier tier : tiers) {
+            for(int i = 0; i < tier.users(); i++) {
+                unit.add(new PlannedUser(Ids.v7(), prefix + tier.tasksPerUser() + "-" + i, tier.tasksPerUser()));
+                unitRows += tier.tasksPerUser();
+                totalRows += tier.tasksPerUser();
+                if(unitRows >= UNIT_ROWS) {
+                    units.add(unit);
+                    unit = new ArrayList<>();
+                    unitRows = 0;
+                }
+            }
+        }
+        if(!unit.isEmpty()) units.add(unit);
+
+        long start = System.nanoTime();
+        List<SeededUser> seeded = new ArrayList<>();
+        try(ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<List<SeededUser>>> futures = new ArrayList<>(units.size());
+            for(List<PlannedUser> users : units) futures.add(executor.submit(() -> load(users, hash)));
+            for(Future<List<SeededUser>> future : futures) seeded.addAll(future.get());
+        }
+
+        try(Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE tasks");
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "Seeded %d users and %d tasks in %.1f s (%.0f tasks/s)%n", seeded.size(), totalRows, seconds, totalRows / seconds);
+        return seeded;
+    }
+
+    static void writeLogins(List<SeededUser> users, Path file) throws IOException {
+        List<String> lines = new ArrayList<>(users.size() + 1);
+        lines.add("login,password");
+        for(SeededUser user : users) lines.add(user.login() + "," + user.password());
+        Files.write(file, lines);
+    }
+
+    private List<SeededUser> load(List<PlannedUser> users, String hash) throws SQLException {
+        try(Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try(Statement statement = connection.createStatement()) {
+                // Nothing here is worth waiting on the WAL flush for: a lost unit is reseeded.
+                statement.execute("SET LOCAL synchronous_commit = off");
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+            CopyIn userCopy = pgConnection.getCopyAPI().copyIn("COPY users (id, login, password, role) FROM STDIN");
+            StringBuilder rows = new StringBuilder();
+            for(PlannedUser user : users) {
+                rows.append(user.id()).append('\t').append(user.login()).append('\t').append(hash).append("\tUSER\n");
+            }
+            flush(userCopy, rows);
+            userCopy.endCopy();
+
+            List<SeededUser> seeded = new ArrayList<>(users.size());
+            CopyIn taskCopy = pgConnection.getCopyAPI().copyIn("COPY tasks (id, title, description, due_date, completed, user_id) FROM STDIN");
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LocalDate today = LocalDate.now();
+            for(PlannedUser user : users) {
+                List<String> kept = new ArrayList<>(Math.min(user.tasks(), KEPT_IDS));
+                // Some users clear their list, some let it pile up.
+                double diligence = random.nextDouble();
+
+                for(int i = 0; i < user.tasks(); i++) {
+                    UUID id = Ids.v7();
+                    if(kept.size() < KEPT_IDS) kept.add(id.toString());
+                    appendTask(rows, random, today, id, user.id(), diligence);
+                    if(rows.length() >= FLUSH_CHARS) flush(taskCopy, rows);
+                }
+                seeded.add(new SeededUser(user.login(), PASSWORD, kept));
+            }
+            flush(taskCopy, rows);
+            taskCopy.endCopy();
+
+            connection.commit();
+            return seeded;
+        }
+    }
+
+    // COPY text format; the generated text has no tabs, newlines or backslashes, so nothing needs escaping.
+    private static void appendTask(StringBuilder rows, ThreadLocalRandom random, LocalDate today, UUID id, UUID userId, double diligence) {
+        boolean overdue = random.nextDouble() < 0.2;
+        long days = 1 + (long) (-Math.log(1 - random.nextDouble()) * (overdue ? 30 : 20));
+        LocalDate dueDate = overdue ? today.minusDays(days) : today.plusDays(Math.min(days - 1, 730));
+        boolean completed = random.nextDouble() < (overdue ? 0.3 + 0.6 * diligence : 0.1 * diligence);
+
+        rows.append(id).append('\t');
+        words(rows, random, 1 + random.nextInt(6), 100);
+        rows.append('\t');
+        if(random.nextDouble() < 0.35) rows.append("\\N");
+        // Log-normal word count: mostly a few words, now and then a paragraph.
+        else words(rows, random, (int) Math.max(1, Math.exp(1.5 + random.nextGaussian())), 500);
+        rows.append('\t').append(dueDate).append('\t').append(completed ? 't' : 'f').append('\t').append(userId).append('\n');
+    }
+
+    private static void words(StringBuilder rows, ThreadLocalRandom random, int count, int maxLength) {
+        int start = rows.length();
+        for(int i = 0; i < count; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if(rows.length() - start + word.length() + 1 > maxLength) break;
+            if(i > 0) rows.append(' ');
+            rows.append(word);
+        }
+    }
+
+    private static void flush(CopyIn copy, StringBuilder rows) throws SQLException {
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+
+    private record PlannedUser(UUID id, String login, int tasks) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one operation, in nanoseconds and measured from the time the request was scheduled
+ * to start, so a server that falls behind shows up in the percentiles instead of slowing the load.
+ */
+final class EndpointStats {
+    static final String CSV_HEADER = "endpoint,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, boolean ok) {
+        histogram.recordValue(Math.min(latencyNanos, histogram.getHighestTrackableValue()));
+        if(!ok) errors.increment();
+    }
+
+    String name() {
+        return name;
+    }
+
+    long requests() {
+        return histogram.getTotalCount();
+    }
+
+    String csv(double seconds) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f", name, histogram.getTotalCount(), errors.sum(),
+                histogram.getTotalCount() / seconds, ms(50), ms(90), ms(99), ms(99.9), histogram.getMaxValue() / 1e6);
+    }
+
+    String summary(double seconds) {
+        return String.format(Locale.ROOT, "%-10s %9d req %7d err %9.1f req/s   p50 %8.2f   p90 %8.2f   p99 %8.2f   p99.9 %8.2f   max %8.2f ms",
+                name, histogram.getTotalCount(), errors.sum(), histogram.getTotalCount() / seconds,
+                ms(50), ms(90), ms(99), ms(99.9), histogram.getMaxValue() / 1e6);
+    }
+
+    // Full percentile distribution in milliseconds, readable by the HdrHistogram plotter.
+    void writeDistribution(PrintStream out) {
+        histogram.outputPercentileDistribution(out, 1e6);
+    }
+
+    private double ms(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
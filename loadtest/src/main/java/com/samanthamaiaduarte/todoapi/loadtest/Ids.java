@@ -0,0 +1,35 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDs for rows written straight to the database. {@link #v7()} follows the application's UuidV7Generator,
+ * so seeded keys are laid out in the index like the ones the API creates.
+ */
+final class Ids {
+    private static final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    private Ids() {
+    }
+
+    // 48-bit millisecond timestamp and 12-bit counter, strictly increasing across threads.
+    static UUID v7() {
+        long candidate = System.currentTimeMillis() << 12;
+        long timeAndCounter = lastTimeAndCounter.updateAndGet(last -> Math.max(candidate, last + 1));
+
+        long mostSignificant = (timeAndCounter >>> 12) << 16 | 0x7000L | (timeAndCounter & 0xFFFL);
+        return new UUID(mostSignificant, randomLeastSignificant());
+    }
+
+    // Random ids like gen_random_uuid(), without the lock of the SecureRandom behind UUID.randomUUID().
+    static UUID v4() {
+        long mostSignificant = (ThreadLocalRandom.current().nextLong() & ~0xF000L) | 0x4000L;
+        return new UUID(mostSignificant, randomLeastSignificant());
+    }
+
+    private static long randomLeastSignificant() {
+        return ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+    }
+}
@@ -0,0 +1,77 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts the same number of tasks twice, once as single POST /tasks and once through POST /tasks/batch
+ * in chunks of 1000, with the same number of concurrent clients, and reports rows per second of each.
+ * <p>
+ * Every client has its own user: a mutation updates its user's task version, so clients sharing one
+ * user would queue on that row and measure the lock instead of the inserts.
+ */
+final class InsertComparison {
+    static final String CSV_HEADER = "mode,rows,concurrency,seconds,rows_per_second";
+    private static final int BATCH_SIZE = 1000;
+
+    private final ApiClient api;
+    private final int rows;
+    private final int concurrency;
+
+    InsertComparison(ApiClient api, int rows, int concurrency) {
+        this.api = api;
+        this.rows = rows;
+        this.concurrency = concurrency;
+    }
+
+    List<String> run() throws Exception {
+        List<SeededUser> users = new ApiSeeder(api).seed(concurrency, 0);
+        List<String> tokens = users.stream().map(user -> api.login(user.login(), user.password())).toList();
+
+        return List.of(measure("single", tokens, 1), measure("batch", tokens, BATCH_SIZE));
+    }
+
+    // Clients take chunks of chunkSize rows from a shared counter until all rows are inserted.
+    private String measure(String mode, List<String> tokens, int chunkSize) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(rows);
+        LocalDate dueDate = LocalDate.now().plusDays(30);
+        String task = ApiClient.taskJson("Insert comparison", "Created by the insert comparison", dueDate);
+
+        long start = System.nanoTime();
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(tokens.size());
+            for(String token : tokens) {
+                futures.add(executor.submit(() -> {
+                    int chunk;
+                    while((chunk = take(remaining, chunkSize)) > 0) {
+                        if(chunkSize == 1) api.send(api.post("/tasks", task, token));
+                        else api.createTasks(token, Collections.nCopies(chunk, task));
+                    }
+                    return null;
+                }));
+            }
+            for(Future<?> future : futures) future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "%-6s %d rows with %d clients in %.1f s: %.0f rows/s%n", mode, rows, concurrency, seconds, rows / seconds);
+        return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.0f", mode, rows, concurrency, seconds, rows / seconds);
+    }
+
+    private static int take(AtomicInteger remaining, int chunkSize) {
+        int left;
+        int chunk;
+        do {
+            left = remaining.get();
+            chunk = Math.min(left, chunkSize);
+        } while(chunk > 0 && !remaining.compareAndSet(left, left - chunk));
+        return chunk;
+    }
+}
@@ -0,0 +1,142 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Random (v4) against time-ordered (v7) primary keys, on a copy of the tasks table: preloads it so the
+ * primary key index outgrows shared_buffers, then times batched inserts the way Hibernate sends them
+ * (1000 rows per batch and transaction, over several connections) and reports the sizes of the index
+ * and table afterwards.
+ * <p>
+ * Random keys land on any leaf page, so each insert may read a page back from disk and the pages split
+ * half full; time-ordered keys all land on the rightmost pages, which stay cached and fill up.
+ */
+final class KeyComparison {
+    static final String CSV_HEADER = "key,preloaded_rows,inserted_rows,threads,insert_seconds,rows_per_second,index_mb,table_mb";
+    private static final int BATCH_SIZE = 1000;
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final int preloadRows;
+    private final int insertRows;
+    private final int threads;
+
+    KeyComparison(String jdbcUrl, String username, String password, int preloadRows, int insertRows, int threads) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.preloadRows = preloadRows;
+        this.insertRows = insertRows;
+        this.threads = threads;
+    }
+
+    List<String> run() throws Exception {
+        return List.of(measure("v4", Ids::v4), measure("v7", Ids::v7));
+    }
+
+    private String measure(String key, Supplier<UUID> ids) throws Exception {
+        String table = "key_comparison_" + key;
+        UUID userId = Ids.v4();
+
+        try(Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, title VARCHAR(100) NOT NULL, description VARCHAR(500), "
+                    + "due_date DATE NOT NULL, completed BOOLEAN NOT NULL, user_id UUID NOT NULL)");
+
+            System.out.printf(Locale.ROOT, "%s: preloading %d rows%n", key, preloadRows);
+            preload(connection, table, ids, userId);
+            statement.execute("VACUUM ANALYZE " + table);
+        }
+
+        AtomicInteger remaining = new AtomicInteger(insertRows);
+        long start = System.nanoTime();
+        try(ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for(int i = 0; i < threads; i++) futures.add(executor.submit(() -> insert(table, ids, userId, remaining)));
+            for(Future<?> future : futures) future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double indexMb;
+        double tableMb;
+        try(Connection connection = connect(); Statement statement = connection.createStatement();
+            ResultSet sizes = statement.executeQuery("SELECT pg_relation_size('" + table + "_pkey'), pg_relation_size('" + table + "')")) {
+            sizes.next();
+            indexMb = sizes.getLong(1) / 1048576.0;
+            tableMb = sizes.getLong(2) / 1048576.0;
+            statement.execute("DROP TABLE " + table);
+        }
+
+        System.out.printf(Locale.ROOT, "%s: %d rows inserted in %.1f s (%.0f rows/s), primary key %.0f MB, table %.0f MB%n",
+                key, insertRows, seconds, insertRows / seconds, indexMb, tableMb);
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%.2f,%.0f,%.1f,%.1f", key, preloadRows, insertRows, threads, seconds, insertRows / seconds, indexMb, tableMb);
+    }
+
+    private void preload(Connection connection, String table, Supplier<UUID> ids, UUID userId) throws SQLException {
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn("COPY " + table + " FROM STDIN");
+        StringBuilder rows = new StringBuilder();
+        String dueDate = LocalDate.now().toString();
+
+        for(int i = 0; i < preloadRows; i++) {
+            rows.append(ids.get()).append("\tPreloaded task\t\\N\t").append(dueDate).append("\tf\t").append(userId).append('\n');
+            if(rows.length() >= 1 << 20) {
+                byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+                rows.setLength(0);
+            }
+        }
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        copy.endCopy();
+    }
+
+    private Void insert(String table, Supplier<UUID> ids, UUID userId, AtomicInteger remaining) throws SQLException {
+        String url = jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        try(Connection connection = DriverManager.getConnection(url, username, password);
+            PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table
+                    + " (id, title, description, due_date, completed, user_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            LocalDate dueDate = LocalDate.now();
+
+            int batch;
+            while((batch = Math.min(BATCH_SIZE, remaining.getAndAdd(-BATCH_SIZE))) > 0) {
+                for(int i = 0; i < batch; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setString(2, "Inserted task");
+                    insert.setString(3, "Inserted by the key comparison");
+                    insert.setObject(4, dueDate);
+                    insert.setBoolean(5, false);
+                    insert.setObject(6, userId);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+        }
+        return null;
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+}
@@ -0,0 +1,139 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * End-to-end load test: starts the packaged API against an embedded Postgres, seeds the database with
+ * {@link DatasetSeeder}, and either runs an open-model mix of operations ({@code --scenario=mix}, the
+ * default) or compares single and batch inserts ({@code --scenario=inserts}). {@code --scenario=keys}
+ * starts only the database and compares random and time-ordered primary keys ({@link KeyComparison});
+ * {@code --scenario=notify} measures what the cache invalidation notification costs a commit ({@link NotifyComparison}).
+ * <p>
+ * The mix reports requests, errors, throughput and latency percentiles per operation to the console,
+ * to {@code summary.csv} and, as full HdrHistogram distributions, to one {@code <operation>.hgrm} per
+ * operation, all under {@code --out}. Pass {@code --url} to load an API that is already running
+ * instead of starting one.
+ * <p>
+ * Arguments, all optional: {@code --scenario=mix --dataset=100x200 --rate=500
+ * --arrivals=poisson --max-in-flight=2000 --warmup=30 --duration=120
+ * --mix=login:2,list:60,create:14,update:10,complete:8,delete:6 --rows=20000 --concurrency=16 --preload-rows=10000000
+ * --transactions=50000
+ * --out=target/loadtest}, plus the {@link TestEnvironment} ones.
+ */
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        Path out = Path.of(arguments.get("out", "target/loadtest"));
+        Files.createDirectories(out);
+
+        if(arguments.get("scenario", "mix").equals("keys")) {
+            try(TestEnvironment database = TestEnvironment.startDatabase(arguments)) {
+                keys(arguments, database, out);
+            }
+            return;
+        }
+        if(arguments.get("scenario", "mix").equals("notify")) {
+            try(TestEnvironment database = TestEnvironment.startDatabase(arguments)) {
+                notifications(arguments, database, out);
+            }
+            return;
+        }
+
+        String url = arguments.get("url", null);
+        try(TestEnvironment environment = url == null ? TestEnvironment.start(arguments, out) : null) {
+            ApiClient api = new ApiClient(environment != null ? environment.url() : url);
+
+            switch(arguments.get("scenario", "mix")) {
+                case "mix" -> mix(arguments, api, environment, out);
+                case "inserts" -> inserts(arguments, api, out);
+                default -> throw new IllegalArgumentException("Unknown scenario, use mix, inserts, keys or notify");
+            }
+        }
+    }
+
+    private static void mix(Arguments arguments, ApiClient api, TestEnvironment environment, Path out) throws Exception {
+        List<DatasetSeeder.Tier> tiers = DatasetSeeder.parseTiers(arguments.get("dataset", "100x200"));
+        double rate = arguments.getDouble("rate", 500);
+
+        List<SeededUser> seeded = seed(arguments, api, environment, tiers);
+        DatasetSeeder.writeLogins(seeded, out.resolve("users.csv"));
+
+        OpenModelRunner runner = new OpenModelRunner(api, seeded, rate,
+                !arguments.get("arrivals", "poisson").equals("constant"),
+                arguments.getInt("max-in-flight", 2000),
+                OpenModelRunner.parseMix(arguments.get("mix", "login:2,list:60,create:14,update:10,complete:8,delete:6")));
+
+        Duration warmup = Duration.ofSeconds(arguments.getInt("warmup", 30));
+        Duration duration = Duration.ofSeconds(arguments.getInt("duration", 120));
+        System.out.printf(Locale.ROOT, "Offering %.0f req/s for %s after %s of warmup%n", rate, duration, warmup);
+        OpenModelRunner.Result result = runner.run(warmup, duration);
+
+        List<String> csv = new ArrayList<>();
+        csv.add(EndpointStats.CSV_HEADER);
+        long total = 0;
+        for(EndpointStats endpoint : result.endpoints()) {
+            System.out.println(endpoint.summary(result.seconds()));
+            csv.add(endpoint.csv(result.seconds()));
+            total += endpoint.requests();
+
+            try(PrintStream distribution = new PrintStream(out.resolve(endpoint.name() + ".hgrm").toFile())) {
+                endpoint.writeDistribution(distribution);
+            }
+        }
+        System.out.printf(Locale.ROOT, "Total %.1f req/s, %d arrivals dropped at the in-flight limit%n", total / result.seconds(), result.dropped());
+
+        Files.write(out.resolve("summary.csv"), csv);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    // COPY whenever the database is reachable, the API (register and /tasks/batch) only against a bare --url.
+    private static List<SeededUser> seed(Arguments arguments, ApiClient api, TestEnvironment environment, List<DatasetSeeder.Tier> tiers) throws Exception {
+        int threads = arguments.getInt("seed-threads", Runtime.getRuntime().availableProcessors());
+        if(environment != null) {
+            return new DatasetSeeder(environment.jdbcUrl(), environment.username(), environment.password(), threads).seed(tiers);
+        }
+        if(arguments.get("db", null) != null) {
+            return new DatasetSeeder(arguments.get("db", null), arguments.get("db-user", "dev"), arguments.get("db-password", "1234567"), threads).seed(tiers);
+        }
+
+        System.out.println("No database given, seeding through the API");
+        List<SeededUser> seeded = new ArrayList<>();
+        for(DatasetSeeder.Tier tier : tiers) seeded.addAll(new ApiSeeder(api).seed(tier.users(), tier.tasksPerUser()));
+        return seeded;
+    }
+
+    private static void inserts(Arguments arguments, ApiClient api, Path out) throws Exception {
+        InsertComparison comparison = new InsertComparison(api, arguments.getInt("rows", 20000), arguments.getInt("concurrency", 16));
+
+        List<String> csv = new ArrayList<>();
+        csv.add(InsertComparison.CSV_HEADER);
+        csv.addAll(comparison.run());
+        Files.write(out.resolve("inserts.csv"), csv);
+    }
+
+    private static void keys(Arguments arguments, TestEnvironment database, Path out) throws Exception {
+        KeyComparison comparison = new KeyComparison(database.jdbcUrl(), database.username(), database.password(),
+                arguments.getInt("preload-rows", 10_000_000), arguments.getInt("rows", 2_000_000), arguments.getInt("concurrency", 8));
+
+        List<String> csv = new ArrayList<>();
+        csv.add(KeyComparison.CSV_HEADER);
+        csv.addAll(comparison.run());
+        Files.write(out.resolve("keys.csv"), csv);
+    }
+
+    private static void notifications(Arguments arguments, TestEnvironment database, Path out) throws Exception {
+        NotifyComparison comparison = new NotifyComparison(database.jdbcUrl(), database.username(), database.password(),
+                arguments.getInt("transactions", 50_000), arguments.getInt("concurrency", 16));
+
+        List<String> csv = new ArrayList<>();
+        csv.add(NotifyComparison.CSV_HEADER);
+        csv.addAll(comparison.run());
+        Files.write(out.resolve("notify.csv"), csv);
+    }
+}
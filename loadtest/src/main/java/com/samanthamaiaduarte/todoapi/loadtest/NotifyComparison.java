@@ -0,0 +1,126 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cost of the cache invalidation {@code pg_notify} on write throughput: the same small transaction
+ * (one row update, like the task version bump every mutation does) run with and without a notification,
+ * over several connections, while one connection listens the way every node does.
+ * <p>
+ * A transaction that notified takes a lock on the database-wide notification queue while it commits, so
+ * those commits go one at a time however many connections there are; without it they overlap.
+ */
+final class NotifyComparison {
+    static final String CSV_HEADER = "mode,transactions,concurrency,seconds,transactions_per_second,notifications_received";
+    private static final String TABLE = "notify_comparison";
+    private static final String CHANNEL = "notify_comparison";
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final int transactions;
+    private final int concurrency;
+
+    NotifyComparison(String jdbcUrl, String username, String password, int transactions, int concurrency) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.transactions = transactions;
+        this.concurrency = concurrency;
+    }
+
+    List<String> run() throws Exception {
+        try(Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (id INTEGER PRIMARY KEY, version BIGINT NOT NULL)");
+            statement.execute("INSERT INTO " + TABLE + " SELECT i, 0 FROM generate_series(0, " + (concurrency - 1) + ") i");
+        }
+
+        try {
+            return List.of(measure("plain", false), measure("notify", true));
+        }
+        finally {
+            try(Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE " + TABLE);
+            }
+        }
+    }
+
+    private String measure(String mode, boolean notify) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(transactions);
+        AtomicLong received = new AtomicLong();
+
+        long start;
+        double seconds;
+        try(Connection listener = connect(); Statement listen = listener.createStatement()) {
+            listen.execute("LISTEN " + CHANNEL);
+
+            try(ExecutorService executor = Executors.newFixedThreadPool(concurrency + 1)) {
+                Future<?> draining = executor.submit(() -> drain(listener.unwrap(PGConnection.class), remaining, received));
+
+                start = System.nanoTime();
+                List<Future<?>> futures = new ArrayList<>(concurrency);
+                for(int i = 0; i < concurrency; i++) {
+                    int row = i;
+                    futures.add(executor.submit(() -> write(row, notify, remaining)));
+                }
+                for(Future<?> future : futures) future.get();
+                seconds = (System.nanoTime() - start) / 1e9;
+                draining.get();
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%-6s %d transactions with %d connections in %.1f s: %.0f tx/s, %d notifications received%n",
+                mode, transactions, concurrency, seconds, transactions / seconds, received.get());
+        return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.0f,%d", mode, transactions, concurrency, seconds, transactions / seconds, received.get());
+    }
+
+    // Each connection updates a row of its own, so the only thing the connections share is the notification queue.
+    private Void write(int row, boolean notify, AtomicInteger remaining) throws SQLException {
+        try(Connection connection = connect();
+            PreparedStatement update = connection.prepareStatement("UPDATE " + TABLE + " SET version = version + 1 WHERE id = ?");
+            PreparedStatement notification = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            connection.setAutoCommit(false);
+            update.setInt(1, row);
+            notification.setString(1, CHANNEL);
+
+            while(remaining.getAndDecrement() > 0) {
+                update.executeUpdate();
+                if(notify) {
+                    notification.setString(2, UUID.randomUUID() + "|" + UUID.randomUUID());
+                    notification.execute();
+                }
+                connection.commit();
+            }
+        }
+        return null;
+    }
+
+    // Keeps the queue from filling up, as the application listener would; stops once the writers are done.
+    private Void drain(PGConnection listener, AtomicInteger remaining, AtomicLong received) throws SQLException {
+        while(true) {
+            var notifications = listener.getNotifications(100);
+            if(notifications != null && notifications.length > 0) received.addAndGet(notifications.length);
+            else if(remaining.get() <= -concurrency) return null;
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+}
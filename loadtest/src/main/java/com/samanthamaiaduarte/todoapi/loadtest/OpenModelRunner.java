@@ -0,0 +1,224 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests start at the configured arrival rate whether or not earlier ones have
+ * answered, the way independent clients behave, instead of each client waiting for its last response.
+ * <p>
+ * Every request runs on its own virtual thread and its latency counts from the time it was due to
+ * start, so a stalled server can't hide its queueing by slowing the arrivals down (coordinated
+ * omission). At most {@code maxInFlight} requests are outstanding; arrivals beyond that are counted
+ * as dropped rather than queued in the generator.
+ */
+final class OpenModelRunner {
+    enum Operation { LOGIN, LIST, CREATE, UPDATE, COMPLETE, DELETE }
+
+    private final ApiClient api;
+    private final List<VirtualUser> users;
+    private final double rate;
+    private final boolean poisson;
+    private final int maxInFlight;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    OpenModelRunner(ApiClient api, List<SeededUser> users, double rate, boolean poisson, int maxInFlight, Map<Operation, Integer> mix) {
+        this.api = api;
+        this.users = users.stream().map(VirtualUser::new).toList();
+        this.rate = rate;
+        this.poisson = poisson;
+        this.maxInFlight = maxInFlight;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+
+        int total = 0;
+        for(int i = 0; i < operations.length; i++) cumulativeWeights[i] = total += mix.get(operations[i]);
+        if(total <= 0) throw new IllegalArgumentException("The operation mix has no weight");
+    }
+
+    // login:2,list:60,... with integer weights; operations left out are not sent.
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for(String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if(parts.length != 2) throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    Result run(Duration warmup, Duration duration) throws Exception {
+        logIn();
+
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for(Operation operation : operations) stats.put(operation, new EndpointStats(operation.name().toLowerCase(Locale.ROOT)));
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LongAdder dropped = new LongAdder();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanIntervalNanos = 1e9 / rate;
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        double due = start;
+
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while(true) {
+                due += poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+                long intendedStart = (long) due;
+                if(intendedStart >= end) break;
+
+                long wait;
+                while((wait = intendedStart - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+                if(!inFlight.tryAcquire()) {
+                    if(intendedStart >= measureFrom) dropped.increment();
+                    continue;
+                }
+
+                Operation operation = pick(random);
+                VirtualUser user = users.get(random.nextInt(users.size()));
+                executor.execute(() -> {
+                    try {
+                        boolean ok = execute(operation, user);
+                        if(intendedStart >= measureFrom) stats.get(operation).record(System.nanoTime() - intendedStart, ok);
+                    }
+                    finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+
+        return new Result(List.copyOf(stats.values()), dropped.sum(), duration.toNanos() / 1e9);
+    }
+
+    // Tokens are taken up front, a few at a time like the seeding, so the run doesn't start with a burst of logins.
+    private void logIn() throws Exception {
+        try(ExecutorService executor = Executors.newFixedThreadPool(ApiSeeder.CONCURRENCY)) {
+            List<Future<?>> futures = new ArrayList<>(users.size());
+            for(VirtualUser user : users) futures.add(executor.submit(() -> user.token = api.login(user.login, user.password)));
+            for(Future<?> future : futures) future.get();
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for(int i = 0; i < cumulativeWeights.length; i++) {
+            if(value < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private boolean execute(Operation operation, VirtualUser user) {
+        try {
+            return switch(operation) {
+                case LOGIN -> login(user);
+                case LIST -> list(user);
+                case CREATE -> create(user);
+                case UPDATE -> update(user);
+                case COMPLETE -> complete(user);
+                case DELETE -> delete(user);
+            };
+        }
+        catch (IOException | UncheckedIOException exception) {
+            return false;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean login(VirtualUser user) {
+        HttpResponse<String> response = api.send(api.post("/auth/login", ApiClient.credentials(user.login, user.password), null));
+        if(response.statusCode() >= 400) return false;
+
+        user.token = ApiClient.accessToken(response.body());
+        return true;
+    }
+
+    // A user whose tasks were all deleted gets a 404, which is the API working as designed.
+    private boolean list(VirtualUser user) throws IOException, InterruptedException {
+        int status = api.status(api.get("/tasks?limit=50", user.token));
+        return status < 400 || status == 404;
+    }
+
+    private boolean create(VirtualUser user) {
+        HttpResponse<String> response = api.send(api.post("/tasks", newTask(), user.token));
+        if(response.statusCode() >= 400) return false;
+
+        user.taskIds.addLast(ApiClient.firstId(response.body()));
+        return true;
+    }
+
+    // Updates and completions take a task from the front and put it back at the end, so they spread over all of them.
+    private boolean update(VirtualUser user) throws IOException, InterruptedException {
+        String taskId = user.taskIds.pollFirst();
+        if(taskId == null) return create(user);
+
+        try {
+            return api.status(api.put("/tasks/" + taskId, newTask(), user.token)) < 400;
+        }
+        finally {
+            user.taskIds.addLast(taskId);
+        }
+    }
+
+    private boolean complete(VirtualUser user) throws IOException, InterruptedException {
+        String taskId = user.taskIds.pollFirst();
+        if(taskId == null) return create(user);
+
+        try {
+            return api.status(api.patch("/tasks/completed/" + taskId, user.token)) < 400;
+        }
+        finally {
+            user.taskIds.addLast(taskId);
+        }
+    }
+
+    private boolean delete(VirtualUser user) throws IOException, InterruptedException {
+        String taskId = user.taskIds.pollFirst();
+        if(taskId == null) return create(user);
+
+        return api.status(api.delete("/tasks/" + taskId, user.token)) < 400;
+    }
+
+    private static String newTask() {
+        return ApiClient.taskJson("Load test task", "Created by the load test", LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(120)));
+    }
+
+    private static final class VirtualUser {
+        private final String login;
+        private final String password;
+        private final ConcurrentLinkedDeque<String> taskIds;
+        private volatile String token;
+
+        private VirtualUser(SeededUser user) {
+            this.login = user.login();
+            this.password = user.password();
+            this.taskIds = new ConcurrentLinkedDeque<>(user.taskIds());
+        }
+    }
+
+    record Result(List<EndpointStats> endpoints, long dropped, double seconds) {
+    }
+}
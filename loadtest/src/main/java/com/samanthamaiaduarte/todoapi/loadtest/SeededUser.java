@@ -0,0 +1,9 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.util.List;
+
+/**
+ * A user that exists in the database before the load starts, with the ids of its tasks.
+ */
+record SeededUser(String login, String password, List<String> taskIds) {
+}
@@ -0,0 +1,163 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The application under test: the packaged jar started in its own JVM, against either an embedded
+ * Postgres (binaries unpacked from the classpath, so nothing has to be installed or downloaded) or a
+ * database given by JDBC url. Flyway creates the schema when the application starts.
+ */
+final class TestEnvironment implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final EmbeddedPostgres postgres;
+    private final Process application;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final String url;
+
+    private TestEnvironment(EmbeddedPostgres postgres, Process application, String jdbcUrl, String username, String password, String url) {
+        this.postgres = postgres;
+        this.application = application;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.url = url;
+    }
+
+    // --db=embedded (default) or a JDBC url with --db-user/--db-password; --jvm-options for the application JVM.
+    static TestEnvironment start(Arguments arguments, Path outputDirectory) throws IOException, InterruptedException {
+        TestEnvironment database = startDatabase(arguments);
+        EmbeddedPostgres postgres = database.postgres;
+        String jdbcUrl = database.jdbcUrl;
+        String username = database.username;
+        String password = database.password;
+
+        int port = freePort();
+        Path jar = findJar(arguments.get("jar", null));
+        Path log = outputDirectory.resolve("app.log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Stream.of(arguments.get("jvm-options", "-Xms1g -Xmx1g").split("\\s+")).filter(option -> !option.isBlank()).forEach(command::add);
+        command.add("-jar");
+        command.add(jar.toString());
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile());
+        Map<String, String> environment = builder.environment();
+        environment.put("SERVER_PORT", String.valueOf(port));
+        environment.put("MANAGEMENT_PORT", String.valueOf(freePort()));
+        environment.put("SPRING_DATASOURCE_URL", jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+        environment.put("SPRING_DATASOURCE_USERNAME", username);
+        environment.put("SPRING_DATASOURCE_PASSWORD", password);
+        environment.put("SPRING_JPA_SHOW_SQL", "false");
+        environment.put("JWT_SECRET", UUID.randomUUID().toString());
+        environment.put("VIRTUAL_THREADS", arguments.get("virtual-threads", "false"));
+        environment.put("TASK_CACHE_ENABLED", arguments.get("task-cache", "true"));
+
+        Process application = builder.start();
+        TestEnvironment testEnvironment = new TestEnvironment(postgres, application, jdbcUrl, username, password, "http://localhost:" + port);
+        testEnvironment.awaitStartup(log);
+        return testEnvironment;
+    }
+
+    // The database alone, for the scenarios that measure it directly; url() is null.
+    static TestEnvironment startDatabase(Arguments arguments) throws IOException {
+        String database = arguments.get("db", "embedded");
+        if(!database.equals("embedded")) {
+            return new TestEnvironment(null, null, database, arguments.get("db-user", "dev"), arguments.get("db-password", "1234567"), null);
+        }
+
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("shared_buffers", "256MB")
+                .setServerConfig("fsync", arguments.get("db-fsync", "off"))
+                .start();
+        return new TestEnvironment(postgres, null, postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres", null);
+    }
+
+    String url() {
+        return url;
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        if(application != null) {
+            application.destroy();
+            if(!application.waitFor(30, TimeUnit.SECONDS)) application.destroyForcibly().waitFor();
+        }
+        if(postgres != null) postgres.close();
+    }
+
+    // /docs is public, so it answers as soon as the application is up.
+    private void awaitStartup(Path log) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/docs")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while(System.nanoTime() < deadline) {
+            if(!application.isAlive()) {
+                close();
+                throw new IllegalStateException("The application exited during startup, see " + log);
+            }
+            try {
+                if(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400) return;
+            }
+            catch (IOException notUpYet) {
+                // Connection refused until Tomcat listens.
+            }
+            Thread.sleep(500);
+        }
+
+        close();
+        throw new IllegalStateException("The application didn't start within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private static Path findJar(String jar) throws IOException {
+        if(jar != null) return Path.of(jar);
+
+        for(Path target : List.of(Path.of("target"), Path.of("..", "target"))) {
+            if(!Files.isDirectory(target)) continue;
+            try(Stream<Path> files = Files.list(target)) {
+                var found = files.filter(file -> file.getFileName().toString().matches("todoapi-\\d.*\\.jar")).findFirst();
+                if(found.isPresent()) return found.get();
+            }
+        }
+        throw new IllegalStateException("Application jar not found, build it with ./mvnw package -DskipTests or pass --jar=");
+    }
+
+    private static int freePort() throws IOException {
+        try(ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
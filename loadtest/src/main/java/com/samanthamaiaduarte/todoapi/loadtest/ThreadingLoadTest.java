@@ -0,0 +1,184 @@
+package com.samanthamaiaduarte.todoapi.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop read load against a running API: {@code concurrency} clients each send GET /tasks and
+ * GET /tasks/{id} back to back for the given duration, and the run reports throughput and latency
+ * percentiles of the measured window. Both count successful requests only: a 503 answered in a
+ * millisecond would otherwise pass for fast work. Failed requests are reported in their own column.
+ * <p>
+ * Meant for comparing request threading modes (compare-threading.sh runs it once per mode against the
+ * same jar). Run it with the task cache disabled so every request goes to the database.
+ * <p>
+ * Arguments, all optional: {@code --url=http://localhost:8080 --concurrency=400 --warmup=15 --duration=60
+ * --tasks=200 --label=run --out=target/threading-comparison.csv}.
+ */
+public class ThreadingLoadTest {
+    private final ApiClient api;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int tasks;
+
+    ThreadingLoadTest(String url, int concurrency, Duration warmup, Duration duration, int tasks) {
+        this.api = new ApiClient(url);
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.tasks = tasks;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        ThreadingLoadTest loadTest = new ThreadingLoadTest(
+                arguments.get("url", "http://localhost:8080"),
+                Integer.parseInt(arguments.get("concurrency", "400")),
+                Duration.ofSeconds(Long.parseLong(arguments.get("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(arguments.get("duration", "60"))),
+                Integer.parseInt(arguments.get("tasks", "200")));
+
+        Result result = loadTest.run(arguments.get("label", "run"));
+        System.out.println(result.summary());
+
+        Path out = Path.of(arguments.get("out", "target/threading-comparison.csv"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        if(Files.notExists(out)) Files.writeString(out, Result.CSV_HEADER + "\n");
+        Files.writeString(out, result.csv() + "\n", StandardOpenOption.APPEND);
+    }
+
+    Result run(String label) throws InterruptedException {
+        String token = setUp();
+        List<String> taskIds = api.taskIds(token, 200);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        List<Client> clients = new ArrayList<>(concurrency);
+        List<Thread> threads = new ArrayList<>(concurrency);
+        for(int i = 0; i < concurrency; i++) {
+            Client loadClient = new Client(token, taskIds, measureFrom, end);
+            clients.add(loadClient);
+            threads.add(Thread.ofVirtual().name("load-", i).start(loadClient));
+        }
+        for(Thread thread : threads) thread.join();
+
+        return Result.of(label, concurrency, duration, clients);
+    }
+
+    // A fresh user per run, so runs never read each other's tasks.
+    private String setUp() {
+        String login = "loadtest-" + UUID.randomUUID();
+        api.register(login, "loadtest");
+        String token = api.login(login, "loadtest");
+
+        LocalDate today = LocalDate.now();
+        List<String> batch = new ArrayList<>(tasks);
+        for(int i = 0; i < tasks; i++) {
+            batch.add(ApiClient.taskJson("Load test task " + i, "Created by ThreadingLoadTest", today.plusDays(i % 90)));
+        }
+        api.createTasks(token, batch);
+
+        return token;
+    }
+
+    private final class Client implements Runnable {
+        private final String token;
+        private final List<String> taskIds;
+        private final long measureFrom;
+        private final long end;
+        private long[] latencies = new long[4096];
+        private int count;
+        private long errors;
+
+        private Client(String token, List<String> taskIds, long measureFrom, long end) {
+            this.token = token;
+            this.taskIds = taskIds;
+            this.measureFrom = measureFrom;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long now;
+            while((now = System.nanoTime()) < end) {
+                HttpRequest request = random.nextBoolean() || taskIds.isEmpty()
+                        ? api.get("/tasks?limit=50", token)
+                        : api.get("/tasks/" + taskIds.get(random.nextInt(taskIds.size())), token);
+
+                boolean ok;
+                try {
+                    ok = api.status(request) < 400;
+                }
+                catch (IOException exception) {
+                    ok = false;
+                }
+                catch (InterruptedException exception) {
+                    return;
+                }
+
+                long finished = System.nanoTime();
+                if(now < measureFrom) continue;
+                if(ok) record(finished - now);
+                else errors++;
+            }
+        }
+
+        private void record(long latency) {
+            if(count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = latency;
+        }
+    }
+
+    // Latencies hold successful requests only, so throughput and percentiles describe the work actually served.
+    record Result(String label, int concurrency, long succeeded, long errors, double throughput,
+                  double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+        static final String CSV_HEADER = "label,concurrency,succeeded,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms";
+
+        static Result of(String label, int concurrency, Duration duration, List<Client> clients) {
+            long[] all = new long[clients.stream().mapToInt(client -> client.count).sum()];
+            int offset = 0;
+            long errors = 0;
+            for(Client client : clients) {
+                System.arraycopy(client.latencies, 0, all, offset, client.count);
+                offset += client.count;
+                errors += client.errors;
+            }
+            Arrays.sort(all);
+
+            return new Result(label, concurrency, all.length, errors, all.length / (double) duration.toSeconds(),
+                    percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                    all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if(sorted.length == 0) return 0;
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT, "%s: %d clients, %d succeeded, %d errors, %.1f req/s succeeded, p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    label, concurrency, succeeded, errors, throughput, p50Ms, p90Ms, p99Ms, maxMs);
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                    label, concurrency, succeeded, errors, throughput, p50Ms, p90Ms, p99Ms, maxMs);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.samanthamaiaduarte.todoapi.benchmark;
+
+import com.samanthamaiaduarte.todoapi.domain.task.Task;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+final class BenchmarkData {
+    private BenchmarkData() { }
+
+    // Fixed seed so every run and every benchmark works on the same tasks.
+    static List<Task> tasks(int size, User user) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.of(2025, 6, 28);
+        List<Task> tasks = new ArrayList<>(size);
+
+        for(int i = 0; i < size; i++) {
+            String description = random.nextInt(4) == 0 ? null : "Task description " + "x".repeat(random.nextInt(200));
+            tasks.add(new Task(new UUID(random.nextLong(), random.nextLong()), "Task title " + i, description,
+                    today.plusDays(random.nextInt(365)), random.nextInt(3) == 0, user));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,60 @@
+package com.samanthamaiaduarte.todoapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.exception.ExceptionHandlerDTO;
+import com.samanthamaiaduarte.todoapi.infra.mapper.TaskMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies as the API writes them: the same ObjectMapper setup as the error handlers use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectWriter taskListWriter;
+    private ObjectWriter errorWriter;
+    private List<TaskResponseDTO> tasks;
+    private ExceptionHandlerDTO error;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        taskListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskResponseDTO.class));
+        errorWriter = objectMapper.writerFor(ExceptionHandlerDTO.class);
+
+        tasks = new TaskMapperImpl().toDtoList(BenchmarkData.tasks(size, new User("benchmark", "password", UserRole.USER)));
+        error = new ExceptionHandlerDTO(HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND, LocalDateTime.now(), "Record not found.");
+    }
+
+    @Benchmark
+    public byte[] taskList() throws JsonProcessingException {
+        return taskListWriter.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] exceptionHandler() throws JsonProcessingException {
+        return errorWriter.writeValueAsBytes(error);
+    }
+}
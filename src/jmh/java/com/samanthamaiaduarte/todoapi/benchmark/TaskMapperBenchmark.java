@@ -0,0 +1,41 @@
+package com.samanthamaiaduarte.todoapi.benchmark;
+
+import com.samanthamaiaduarte.todoapi.domain.task.Task;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.infra.mapper.TaskMapper;
+import com.samanthamaiaduarte.todoapi.infra.mapper.TaskMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMapperBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkData.tasks(size, new User("benchmark", "password", UserRole.USER));
+    }
+
+    @Benchmark
+    public TaskResponseDTO toDto() {
+        return taskMapper.toDto(tasks.getFirst());
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> toDtoList() {
+        return taskMapper.toDtoList(tasks);
+    }
+}
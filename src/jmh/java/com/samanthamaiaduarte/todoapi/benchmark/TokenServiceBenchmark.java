@@ -0,0 +1,67 @@
+package com.samanthamaiaduarte.todoapi.benchmark;
+
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.domain.user.LoginResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.infra.security.SigningKeyRing;
+import com.samanthamaiaduarte.todoapi.infra.security.TokenService;
+import com.samanthamaiaduarte.todoapi.infra.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification as SecurityFilter sees them. {@code cacheEnabled=false} is the
+ * full HMAC verification on every request; {@code true} is a hit in VerifiedTokenCache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private TokenService tokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(verifiedTokenCache, "enabled", cacheEnabled);
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 10_000);
+        ReflectionTestUtils.invokeMethod(verifiedTokenCache, "init");
+
+        SigningKeyRing signingKeyRing = new SigningKeyRing();
+        ReflectionTestUtils.setField(signingKeyRing, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(signingKeyRing, "secret", "benchmark-secret-key");
+        ReflectionTestUtils.setField(signingKeyRing, "keysFile", "");
+        ReflectionTestUtils.invokeMethod(signingKeyRing, "init");
+
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "expirationSeconds", 7200);
+        ReflectionTestUtils.setField(tokenService, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(tokenService, "signingKeyRing", signingKeyRing);
+
+        user = new User(UUID.randomUUID(), "benchmark", "password", UserRole.USER);
+        token = tokenService.generateToken(user).access_token();
+    }
+
+    @Benchmark
+    public LoginResponseDTO generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public AuthenticatedUser validateToken() {
+        return tokenService.validateToken(token);
+    }
+}
@@ -35,7 +35,8 @@ public class AuthenticationAdminController {
             @ApiResponse(responseCode = "401", ref = "401"),
             @ApiResponse(responseCode = "403", ref = "403"),
             @ApiResponse(responseCode = "409", ref = "409"),
-            @ApiResponse(responseCode = "415", ref = "415")
+            @ApiResponse(responseCode = "415", ref = "415"),
+            @ApiResponse(responseCode = "503", ref = "503")
     })
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterDTO data) {
@@ -28,7 +28,8 @@ public class AuthenticationController {
             @ApiResponse(responseCode = "200", ref = "200login"),
             @ApiResponse(responseCode = "400", ref = "400"),
             @ApiResponse(responseCode = "401", ref = "401login"),
-            @ApiResponse(responseCode = "415", ref = "415")
+            @ApiResponse(responseCode = "415", ref = "415"),
+            @ApiResponse(responseCode = "503", ref = "503")
     })
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody AuthenticationDTO data) {
@@ -36,12 +37,26 @@ public class AuthenticationController {
         return ResponseEntity.ok(token);
     }
 
+    @Operation(description = "Exchange a refresh token for a new token pair. The informed refresh token can't be used again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200login"),
+            @ApiResponse(responseCode = "400", ref = "400"),
+            @ApiResponse(responseCode = "401", ref = "401refresh"),
+            @ApiResponse(responseCode = "415", ref = "415")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@Valid @RequestBody RefreshTokenDTO data) {
+        LoginResponseDTO token = authenticationService.refresh(data.refresh_token());
+        return ResponseEntity.ok(token);
+    }
+
     @Operation(description = "Create a new user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", ref = "201"),
             @ApiResponse(responseCode = "400", ref = "400"),
             @ApiResponse(responseCode = "409", ref = "409"),
-            @ApiResponse(responseCode = "415", ref = "415")
+            @ApiResponse(responseCode = "415", ref = "415"),
+            @ApiResponse(responseCode = "503", ref = "503")
     })
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterDTO data) {
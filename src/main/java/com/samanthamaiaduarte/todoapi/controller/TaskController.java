@@ -1,33 +1,69 @@
 package com.samanthamaiaduarte.todoapi.controller;
 
+import com.samanthamaiaduarte.todoapi.domain.task.TaskBulkResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangesDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDuePageDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskIdsRequestDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskPageDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskRequestDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
-import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskStatsDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.service.TaskExportLimiter;
 import com.samanthamaiaduarte.todoapi.service.TaskService;
+import com.samanthamaiaduarte.todoapi.service.TaskStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Tag(name = "Tasks", description = "Tasks management")
 @SecurityRequirement(name = "bearerAuth")
 @RestController
 @RequestMapping("/tasks")
 public class TaskController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_BATCH_SIZE = 1000;
+    // Clients may keep task responses but must revalidate them with If-None-Match before reuse.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     @Autowired
     private TaskService taskService;
+    @Autowired
+    private TaskStreamService taskStreamService;
+    @Autowired
+    private TaskExportLimiter taskExportLimiter;
 
     @Operation(description = "Create a new task for the user in the token.")
     @ApiResponses(value = {
@@ -38,11 +74,26 @@ public class TaskController {
             @ApiResponse(responseCode = "415", ref = "415")
     })
     @PostMapping
-    public ResponseEntity<TaskResponseDTO> createTask(@Valid @RequestBody TaskRequestDTO data, @AuthenticationPrincipal User user) {
+    public ResponseEntity<TaskResponseDTO> createTask(@Valid @RequestBody TaskRequestDTO data, @AuthenticationPrincipal AuthenticatedUser user) {
         TaskResponseDTO taskResponseDTO = taskService.createTask(data, user);
         return ResponseEntity.status(HttpStatus.CREATED).body(taskResponseDTO);
     }
 
+    @Operation(description = "Create up to 1000 tasks for the user in the token in a single transaction. Every task is validated first, nothing is created if any of them is invalid. The created tasks are returned in the order they were sent.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", ref = "201taskBatch"),
+            @ApiResponse(responseCode = "400", ref = "400"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "415", ref = "415")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskResponseDTO>> createTasks(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "A batch must have between 1 and 1000 tasks.") List<@Valid TaskRequestDTO> data,
+                                                             @AuthenticationPrincipal AuthenticatedUser user) {
+        List<TaskResponseDTO> taskResponseDTO = taskService.createTasks(data, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskResponseDTO);
+    }
+
     @Operation(description = "Update a task from the user in the token.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", ref = "200updateTask"),
@@ -53,7 +104,7 @@ public class TaskController {
             @ApiResponse(responseCode = "415", ref = "415")
     })
     @PutMapping(value = "/{taskId}", name = "Id")
-    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable @Parameter(name = "taskId", description = "Task identifier", required = true, example = "9e8088d0-c495-40cd-8fe5-6f76857c677f") UUID taskId, @Valid @RequestBody TaskRequestDTO data, @AuthenticationPrincipal User user) {
+    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable @Parameter(name = "taskId", description = "Task identifier", required = true, example = "9e8088d0-c495-40cd-8fe5-6f76857c677f") UUID taskId, @Valid @RequestBody TaskRequestDTO data, @AuthenticationPrincipal AuthenticatedUser user) {
         TaskResponseDTO taskResponseDTO = taskService.updateTask(taskId, data, user);
         return ResponseEntity.status(HttpStatus.OK).body(taskResponseDTO);
     }
@@ -67,11 +118,25 @@ public class TaskController {
             @ApiResponse(responseCode = "404", ref = "404")
     })
     @DeleteMapping("/{taskId}")
-    public ResponseEntity<Void> deleteTask(@PathVariable @Parameter(name = "taskId", description = "Task identifier", required = true, example = "9e8088d0-c495-40cd-8fe5-6f76857c677f") UUID taskId, @AuthenticationPrincipal User user) {
+    public ResponseEntity<Void> deleteTask(@PathVariable @Parameter(name = "taskId", description = "Task identifier", required = true, example = "9e8088d0-c495-40cd-8fe5-6f76857c677f") UUID taskId, @AuthenticationPrincipal AuthenticatedUser user) {
         taskService.deleteTask(taskId, user);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    @Operation(description = "Delete several tasks from the user in the token at once. Ids that don't exist or belong to another user are returned in notFound.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200bulkTask"),
+            @ApiResponse(responseCode = "400", ref = "400"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "415", ref = "415")
+    })
+    @DeleteMapping
+    public ResponseEntity<TaskBulkResponseDTO> deleteTasks(@Valid @RequestBody TaskIdsRequestDTO data, @AuthenticationPrincipal AuthenticatedUser user) {
+        TaskBulkResponseDTO taskBulkResponseDTO = taskService.deleteTasks(data.ids(), user);
+        return ResponseEntity.status(HttpStatus.OK).body(taskBulkResponseDTO);
+    }
+
     @Operation(description = "Set a task from the user in the token as completed.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", ref = "204completeTask"),
@@ -81,50 +146,270 @@ public class TaskController {
             @ApiResponse(responseCode = "404", ref = "404")
     })
     @PatchMapping("/completed/{taskId}")
-    public ResponseEntity<Void> completedTask(@PathVariable @Parameter(name = "taskId", description = "Task identifier", required = true, example = "9e8088d0-c495-40cd-8fe5-6f76857c677f") UUID taskId, @AuthenticationPrincipal User user) {
+    public ResponseEntity<Void> completedTask(@PathVariable @Parameter(name = "taskId", description = "Task identifier", required = true, example = "9e8088d0-c495-40cd-8fe5-6f76857c677f") UUID taskId, @AuthenticationPrincipal AuthenticatedUser user) {
         taskService.completedTask(taskId, user);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    @Operation(description = "Set several tasks from the user in the token as completed at once. Ids that don't exist or belong to another user are returned in notFound.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200bulkTask"),
+            @ApiResponse(responseCode = "400", ref = "400"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "415", ref = "415")
+    })
+    @PatchMapping("/completed")
+    public ResponseEntity<TaskBulkResponseDTO> completedTasks(@Valid @RequestBody TaskIdsRequestDTO data, @AuthenticationPrincipal AuthenticatedUser user) {
+        TaskBulkResponseDTO taskBulkResponseDTO = taskService.completedTasks(data.ids(), user);
+        return ResponseEntity.status(HttpStatus.OK).body(taskBulkResponseDTO);
+    }
+
+    @Operation(description = "Shows the tasks created, updated, completed or deleted since the cursor, oldest change first. Deleted tasks come as tombstones with only the id and deleted = true. Send the returned cursor on the next call; while hasMore is true there are more changes to fetch right away. Tombstones are kept for a limited time: a cursor older than that answers 410 and the client must sync again without it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200taskChanges"),
+            @ApiResponse(responseCode = "400", ref = "400"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "410", ref = "410")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDTO> selectChanges(@RequestParam(required = false) @Parameter(name = "since", description = "Cursor returned by the previous call, empty for a full sync", example = "1024") String since,
+                                                        @AuthenticationPrincipal AuthenticatedUser user) {
+        TaskChangesDTO taskChangesDTO = taskService.selectChanges(user, since);
+        return ResponseEntity.status(HttpStatus.OK).body(taskChangesDTO);
+    }
+
+    @Operation(description = "Opens a Server-Sent Events stream of the task changes of the user in the token, pushed as they are committed. Each task event carries a change as in /tasks/changes and the change cursor as its id; the first event, ready, carries the cursor the stream starts from. A client reconnecting with Last-Event-ID gets every change it missed. Comments are sent as heartbeat, and a client that doesn't keep up is disconnected to resume the same way. A Last-Event-ID older than the tombstone retention answers 410, as /tasks/changes does.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200taskStream"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "410", ref = "410")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(@RequestHeader(value = "Last-Event-ID", required = false) @Parameter(name = "Last-Event-ID", description = "Id of the last event received, to resume after a disconnect", example = "1024") String lastEventId,
+                                  @AuthenticationPrincipal AuthenticatedUser user) {
+        return taskStreamService.subscribe(user, lastEventId);
+    }
+
+    @Operation(description = "Downloads every task of the user in the token as NDJSON, one task per line, uncompleted first and then by due date. The file is written while it is read from the database, so it starts right away whatever the number of tasks. Only a few exports run at once, past that the request answers 503 with Retry-After.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200taskExport"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "503", ref = "503")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(@AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        // The permit is taken here, so a rejected export answers 503 before anything is streamed, and given back
+        // once, by whichever comes first: the body ending, or the async request completing. The latter also covers
+        // a body that never runs, e.g. the client gone, a timeout or the async executor rejecting it.
+        taskExportLimiter.acquire();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if(released.compareAndSet(false, true)) taskExportLimiter.release();
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(TaskExportLimiter.class, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest completedRequest, Callable<T> task) {
+                release.run();
+            }
+        });
+
+        // Runs on the MVC async executor once the request thread is released; the transaction is opened there.
+        StreamingResponseBody body = outputStream -> {
+            try {
+                taskService.exportTasks(user, outputStream);
+            }
+            finally {
+                release.run();
+            }
+        };
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("tasks.ndjson").build().toString())
+                .body(body);
+    }
+
     @Operation(description = "Shows a task from the user in the token.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", ref = "200"),
+            @ApiResponse(responseCode = "304", ref = "304"),
             @ApiResponse(responseCode = "400", ref = "400"),
             @ApiResponse(responseCode = "401", ref = "401"),
             @ApiResponse(responseCode = "403", ref = "403"),
             @ApiResponse(responseCode = "404", ref = "404")
     })
     @GetMapping("{taskId}")
-    public ResponseEntity<TaskResponseDTO> selectTask(@PathVariable @Parameter(name = "taskId", description = "Task identifier", required = true, example = "9e8088d0-c495-40cd-8fe5-6f76857c677f") UUID taskId, @AuthenticationPrincipal User user) {
+    public ResponseEntity<TaskResponseDTO> selectTask(@PathVariable @Parameter(name = "taskId", description = "Task identifier", required = true, example = "9e8088d0-c495-40cd-8fe5-6f76857c677f") UUID taskId, @AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        String etag = etag(taskId, taskService.selectTaskVersion(taskId, user));
+        if(request.checkNotModified(etag)) return notModified(etag);
+
         TaskResponseDTO taskResponseDTO = taskService.selectTask(taskId, user);
-        return ResponseEntity.status(HttpStatus.OK).body(taskResponseDTO);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).cacheControl(REVALIDATE).body(taskResponseDTO);
     }
 
-    @Operation(description = "Shows a list of uncompleted tasks from the user in the token.")
+    @Operation(description = "Shows a page of uncompleted tasks from the user in the token, ordered by due date. When there are more tasks the X-Next-Cursor header holds the cursor of the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", ref = "200uncompletedListTask"),
+            @ApiResponse(responseCode = "304", ref = "304"),
             @ApiResponse(responseCode = "400", ref = "400"),
             @ApiResponse(responseCode = "401", ref = "401"),
             @ApiResponse(responseCode = "403", ref = "403"),
             @ApiResponse(responseCode = "404", ref = "404")
     })
     @GetMapping
-    public ResponseEntity<List<TaskResponseDTO>> selectTasks(@AuthenticationPrincipal User user) {
-        List<TaskResponseDTO> taskResponseDTO = taskService.selectTasks(user, false);
-        return ResponseEntity.status(HttpStatus.OK).body(taskResponseDTO);
+    public ResponseEntity<List<TaskResponseDTO>> selectTasks(@RequestParam(required = false) @Parameter(name = "cursor", description = "Value of the X-Next-Cursor header from the previous page") String cursor,
+                                                             @RequestParam(defaultValue = "50") @Parameter(name = "limit", description = "Page size, at most 200", example = "50") int limit,
+                                                             @AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        String etag = listEtag(user.id(), taskService.selectTasksVersion(user), request);
+        if(request.checkNotModified(etag)) return notModified(etag);
+
+        TaskPageDTO taskPageDTO = taskService.selectTasks(user, false, cursor, limit);
+        return pageResponse(taskPageDTO, etag);
     }
 
-    @Operation(description = "Shows a list of completed tasks from the user in the token.")
+    @Operation(description = "Shows a page of completed tasks from the user in the token, ordered by due date. When there are more tasks the X-Next-Cursor header holds the cursor of the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", ref = "200completedListTask"),
+            @ApiResponse(responseCode = "304", ref = "304"),
             @ApiResponse(responseCode = "400", ref = "400"),
             @ApiResponse(responseCode = "401", ref = "401"),
             @ApiResponse(responseCode = "403", ref = "403"),
             @ApiResponse(responseCode = "404", ref = "404")
     })
     @GetMapping("/completed")
-    public ResponseEntity<List<TaskResponseDTO>> selectCompletedTasks(@AuthenticationPrincipal User user) {
-        List<TaskResponseDTO> taskResponseDTO = taskService.selectTasks(user, true);
-        return ResponseEntity.status(HttpStatus.OK).body(taskResponseDTO);
+    public ResponseEntity<List<TaskResponseDTO>> selectCompletedTasks(@RequestParam(required = false) @Parameter(name = "cursor", description = "Value of the X-Next-Cursor header from the previous page") String cursor,
+                                                                      @RequestParam(defaultValue = "50") @Parameter(name = "limit", description = "Page size, at most 200", example = "50") int limit,
+                                                                      @AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        String etag = listEtag(user.id(), taskService.selectTasksVersion(user), request);
+        if(request.checkNotModified(etag)) return notModified(etag);
+
+        TaskPageDTO taskPageDTO = taskService.selectTasks(user, true, cursor, limit);
+        return pageResponse(taskPageDTO, etag);
+    }
+
+    @Operation(description = "Shows a page of the tasks from the user in the token due between two dates, both included, ordered by due date. Uncompleted tasks unless completed is true. When there are more tasks the X-Next-Cursor header holds the cursor of the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200uncompletedListTask"),
+            @ApiResponse(responseCode = "304", ref = "304"),
+            @ApiResponse(responseCode = "400", ref = "400"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "404", ref = "404")
+    })
+    @GetMapping("/due")
+    public ResponseEntity<List<TaskResponseDTO>> selectDueTasks(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "from", description = "First due date of the range", required = true, example = "2025-06-02") LocalDate from,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "to", description = "Last due date of the range", required = true, example = "2025-06-08") LocalDate to,
+                                                                @RequestParam(defaultValue = "false") @Parameter(name = "completed", description = "Completed tasks instead of uncompleted ones", example = "false") boolean completed,
+                                                                @RequestParam(required = false) @Parameter(name = "cursor", description = "Value of the X-Next-Cursor header from the previous page") String cursor,
+                                                                @RequestParam(defaultValue = "50") @Parameter(name = "limit", description = "Page size, at most 200", example = "50") int limit,
+                                                                @AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        String etag = listEtag(user.id(), taskService.selectTasksVersion(user), request);
+        if(request.checkNotModified(etag)) return notModified(etag);
+
+        TaskPageDTO taskPageDTO = taskService.selectDueTasks(user, completed, from, to, cursor, limit);
+        return pageResponse(taskPageDTO, etag);
+    }
+
+    @Operation(description = "Shows a page of the uncompleted tasks from the user in the token due before today, oldest first, with only their id, title and due date. When there are more tasks the X-Next-Cursor header holds the cursor of the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200taskDueList"),
+            @ApiResponse(responseCode = "304", ref = "304"),
+            @ApiResponse(responseCode = "400", ref = "400"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "404", ref = "404")
+    })
+    @GetMapping("/overdue")
+    public ResponseEntity<List<TaskDueDTO>> selectOverdueTasks(@RequestParam(required = false) @Parameter(name = "cursor", description = "Value of the X-Next-Cursor header from the previous page") String cursor,
+                                                               @RequestParam(defaultValue = "50") @Parameter(name = "limit", description = "Page size, at most 200", example = "50") int limit,
+                                                               @AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        String etag = dailyEtag(user.id(), taskService.selectTasksVersion(user), request);
+        if(request.checkNotModified(etag)) return notModified(etag);
+
+        TaskDuePageDTO taskDuePageDTO = taskService.selectOverdueTasks(user, cursor, limit);
+        return duePageResponse(taskDuePageDTO, etag);
+    }
+
+    @Operation(description = "Shows a page of the uncompleted tasks from the user in the token due from today to the given number of days ahead, ordered by due date, with only their id, title and due date. When there are more tasks the X-Next-Cursor header holds the cursor of the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200taskDueList"),
+            @ApiResponse(responseCode = "304", ref = "304"),
+            @ApiResponse(responseCode = "400", ref = "400"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403"),
+            @ApiResponse(responseCode = "404", ref = "404")
+    })
+    @GetMapping("/due-soon")
+    public ResponseEntity<List<TaskDueDTO>> selectDueSoonTasks(@RequestParam(defaultValue = "7") @Parameter(name = "days", description = "Days ahead of today, at most 365", example = "7") int days,
+                                                               @RequestParam(required = false) @Parameter(name = "cursor", description = "Value of the X-Next-Cursor header from the previous page") String cursor,
+                                                               @RequestParam(defaultValue = "50") @Parameter(name = "limit", description = "Page size, at most 200", example = "50") int limit,
+                                                               @AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        String etag = dailyEtag(user.id(), taskService.selectTasksVersion(user), request);
+        if(request.checkNotModified(etag)) return notModified(etag);
+
+        TaskDuePageDTO taskDuePageDTO = taskService.selectDueSoonTasks(user, days, cursor, limit);
+        return duePageResponse(taskDuePageDTO, etag);
+    }
+
+    @Operation(description = "Shows how many tasks the user in the token has open and completed, and how many of the open ones are overdue or due today.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", ref = "200taskStats"),
+            @ApiResponse(responseCode = "304", ref = "304"),
+            @ApiResponse(responseCode = "401", ref = "401"),
+            @ApiResponse(responseCode = "403", ref = "403")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> selectTaskStats(@AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        String etag = dailyEtag(user.id(), taskService.selectTasksVersion(user), request);
+        if(request.checkNotModified(etag)) return notModified(etag);
+
+        TaskStatsDTO taskStatsDTO = taskService.selectTaskStats(user);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).cacheControl(REVALIDATE).body(taskStatsDTO);
+    }
+
+    private ResponseEntity<List<TaskResponseDTO>> pageResponse(TaskPageDTO taskPageDTO, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK).eTag(etag).cacheControl(REVALIDATE);
+        if(taskPageDTO.nextCursor() != null) response.header(NEXT_CURSOR_HEADER, taskPageDTO.nextCursor());
+
+        return response.body(taskPageDTO.tasks());
+    }
+
+    private ResponseEntity<List<TaskDueDTO>> duePageResponse(TaskDuePageDTO taskDuePageDTO, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK).eTag(etag).cacheControl(REVALIDATE);
+        if(taskDuePageDTO.nextCursor() != null) response.header(NEXT_CURSOR_HEADER, taskDuePageDTO.nextCursor());
+
+        return response.body(taskDuePageDTO.tasks());
+    }
+
+    // The owner (or task) id is part of the tag so a version number is never matched across users.
+    private static String etag(UUID id, long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
+    // Every view of the user shares one version, so the tag also covers the path and the query: the tag of one
+    // page, filter or view never matches another.
+    private static String listEtag(UUID userId, long version, WebRequest request) {
+        return "\"" + userId + "." + version + "." + viewHash(request) + "\"";
+    }
+
+    // For the views relative to today, which change at midnight without any mutation.
+    private static String dailyEtag(UUID userId, long version, WebRequest request) {
+        return "\"" + userId + "." + version + "." + viewHash(request) + "." + LocalDate.now() + "\"";
+    }
+
+    // Parameters are sorted, so the same query in another order is the same view.
+    private static String viewHash(WebRequest request) {
+        StringBuilder view = new StringBuilder(((NativeWebRequest) request).getNativeRequest(HttpServletRequest.class).getRequestURI());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> view.append('&').append(name).append('=').append(String.join(",", values)));
+
+        return DigestUtils.md5DigestAsHex(view.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
     }
 }
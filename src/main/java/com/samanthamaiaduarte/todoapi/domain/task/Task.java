@@ -1,6 +1,7 @@
 package com.samanthamaiaduarte.todoapi.domain.task;
 
 import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.infra.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -18,7 +19,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Task {
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     private String title;
@@ -26,7 +27,7 @@ public class Task {
     private LocalDate dueDate;
     private Boolean completed;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 }
@@ -0,0 +1,7 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TaskBulkResponseDTO(List<UUID> affected, List<UUID> notFound) {
+}
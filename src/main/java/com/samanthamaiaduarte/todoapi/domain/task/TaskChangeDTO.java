@@ -0,0 +1,10 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A task as it is now, or a tombstone ({@code deleted = true}, only the id set) when it was deleted.
+ */
+public record TaskChangeDTO(UUID id, String title, String description, LocalDate dueDate, Boolean completed, boolean deleted) {
+}
@@ -0,0 +1,18 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+import java.util.UUID;
+
+/**
+ * Published by every task mutation of a user, and for mutations made on other nodes once their
+ * invalidation arrives. It carries no change: listeners read what's new from the changes feed.
+ * Without a user it means changes of anyone may have been missed.
+ */
+public record TaskChangedEvent(UUID userId) {
+    public static TaskChangedEvent anyUser() {
+        return new TaskChangedEvent(null);
+    }
+
+    public boolean isAnyUser() {
+        return userId == null;
+    }
+}
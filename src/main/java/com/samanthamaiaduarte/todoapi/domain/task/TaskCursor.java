@@ -0,0 +1,40 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+import com.samanthamaiaduarte.todoapi.exception.TaskCursorInvalidException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last task of a page in the (dueDate, id) ordering, exchanged with clients as an opaque string.
+ */
+public record TaskCursor(LocalDate dueDate, UUID id) {
+
+    public static TaskCursor of(TaskResponseDTO task) {
+        return new TaskCursor(task.dueDate(), task.id());
+    }
+
+    public static TaskCursor of(TaskDueDTO task) {
+        return new TaskCursor(task.dueDate(), task.id());
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if(parts.length != 2) throw new TaskCursorInvalidException();
+
+            return new TaskCursor(LocalDate.parse(parts[0]), UUID.fromString(parts[1]));
+        }
+        catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new TaskCursorInvalidException();
+        }
+    }
+
+    public String encode() {
+        String cursor = dueDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,8 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Only what the overdue and due-soon views show; every column is in idx_tasks_user_open_due_date.
+public record TaskDueDTO(UUID id, String title, LocalDate dueDate) {
+}
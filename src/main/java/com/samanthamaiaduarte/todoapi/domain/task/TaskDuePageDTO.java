@@ -0,0 +1,6 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+import java.util.List;
+
+public record TaskDuePageDTO(List<TaskDueDTO> tasks, String nextCursor) {
+}
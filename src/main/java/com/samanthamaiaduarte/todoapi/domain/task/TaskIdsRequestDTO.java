@@ -0,0 +1,16 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(name = "Task identifiers", description = "Payload for complete or delete several tasks at once")
+public record TaskIdsRequestDTO(
+        @NotEmpty(message = "Task ids can't be empty.")
+        @Size(max = 1000, message = "Task ids max size is 1000.")
+        List<@NotNull(message = "Task id can't be null.") UUID> ids)
+{ }
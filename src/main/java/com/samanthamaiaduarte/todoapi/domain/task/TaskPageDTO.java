@@ -0,0 +1,6 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+import java.util.List;
+
+public record TaskPageDTO(List<TaskResponseDTO> tasks, String nextCursor) {
+}
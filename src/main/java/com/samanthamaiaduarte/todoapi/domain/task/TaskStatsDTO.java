@@ -0,0 +1,5 @@
+package com.samanthamaiaduarte.todoapi.domain.task;
+
+// Overdue and due today count open tasks only.
+public record TaskStatsDTO(long open, long completed, long overdue, long dueToday) {
+}
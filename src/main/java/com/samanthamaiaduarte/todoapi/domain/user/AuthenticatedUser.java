@@ -0,0 +1,26 @@
+package com.samanthamaiaduarte.todoapi.domain.user;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal rebuilt from the token claims, so authenticated requests don't need to load the user row.
+ */
+public record AuthenticatedUser(UUID id, String login, UserRole role) implements Principal {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getLogin(), user.getRole());
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return role == UserRole.ADMIN ? UserRole.ADMIN.getAuthorities() : UserRole.USER.getAuthorities();
+    }
+
+    @Override
+    public String getName() {
+        return login;
+    }
+}
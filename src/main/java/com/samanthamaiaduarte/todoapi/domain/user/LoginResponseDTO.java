@@ -2,5 +2,9 @@ package com.samanthamaiaduarte.todoapi.domain.user;
 
 import java.time.LocalDateTime;
 
-public record LoginResponseDTO(LocalDateTime refresh, String token_type, String access_token, Integer expires_in) {
+public record LoginResponseDTO(LocalDateTime refresh, String token_type, String access_token, Integer expires_in, String refresh_token) {
+
+    public LoginResponseDTO withRefreshToken(String refreshToken) {
+        return new LoginResponseDTO(refresh, token_type, access_token, expires_in, refreshToken);
+    }
 }
@@ -0,0 +1,10 @@
+package com.samanthamaiaduarte.todoapi.domain.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(name = "Refresh token", description = "Payload for access token renewal")
+public record RefreshTokenDTO(
+        @NotBlank(message = "Invalid refresh token")
+        String refresh_token) {
+}
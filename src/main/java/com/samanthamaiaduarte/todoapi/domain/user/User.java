@@ -1,13 +1,12 @@
 package com.samanthamaiaduarte.todoapi.domain.user;
 
+import com.samanthamaiaduarte.todoapi.infra.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -19,7 +18,7 @@ import java.util.UUID;
 @EqualsAndHashCode(of = "id")
 public class User implements UserDetails {
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     private String login;
@@ -37,9 +36,9 @@ public class User implements UserDetails {
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         if(this.role == UserRole.ADMIN)
-            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+            return UserRole.ADMIN.getAuthorities();
         else
-            return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+            return UserRole.USER.getAuthorities();
     }
 
     @Override
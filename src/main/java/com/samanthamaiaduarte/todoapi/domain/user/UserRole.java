@@ -1,16 +1,27 @@
 package com.samanthamaiaduarte.todoapi.domain.user;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum UserRole {
-    ADMIN("admin"),
-    USER("user");
+    ADMIN("admin", List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"))),
+    USER("user", List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
     private String role;
+    private final List<GrantedAuthority> authorities;
 
-    UserRole(String role){
+    UserRole(String role, List<GrantedAuthority> authorities){
         this.role = role;
+        this.authorities = authorities;
     }
 
     public String getRole(){
         return role;
     }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
 }
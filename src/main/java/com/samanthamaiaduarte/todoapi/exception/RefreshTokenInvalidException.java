@@ -0,0 +1,8 @@
+package com.samanthamaiaduarte.todoapi.exception;
+
+public class RefreshTokenInvalidException extends RuntimeException {
+
+    public RefreshTokenInvalidException () { super("Invalid refresh token."); }
+
+    public RefreshTokenInvalidException (String message) { super(message); }
+}
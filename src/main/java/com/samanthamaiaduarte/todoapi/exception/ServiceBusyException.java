@@ -0,0 +1,18 @@
+package com.samanthamaiaduarte.todoapi.exception;
+
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException (long retryAfterSeconds) {
+        super("Server is busy, try again later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ServiceBusyException (String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
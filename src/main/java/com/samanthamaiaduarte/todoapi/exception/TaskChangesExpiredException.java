@@ -0,0 +1,8 @@
+package com.samanthamaiaduarte.todoapi.exception;
+
+public class TaskChangesExpiredException extends RuntimeException {
+
+    public TaskChangesExpiredException () { super("Changes cursor is older than the tombstone retention, sync again without it."); }
+
+    public TaskChangesExpiredException (String message) { super(message); }
+}
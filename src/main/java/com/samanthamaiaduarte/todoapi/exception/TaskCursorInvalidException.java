@@ -0,0 +1,8 @@
+package com.samanthamaiaduarte.todoapi.exception;
+
+public class TaskCursorInvalidException extends RuntimeException {
+
+    public TaskCursorInvalidException () { super("Invalid page cursor."); }
+
+    public TaskCursorInvalidException (String message) { super(message); }
+}
@@ -0,0 +1,8 @@
+package com.samanthamaiaduarte.todoapi.exception;
+
+public class TaskDueRangeInvalidException extends RuntimeException {
+
+    public TaskDueRangeInvalidException () { super("The start of the due date range must not be after its end."); }
+
+    public TaskDueRangeInvalidException (String message) { super(message); }
+}
@@ -0,0 +1,204 @@
+package com.samanthamaiaduarte.todoapi.infra.cache;
+
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the invalidations published by other nodes to the local {@link TaskCache} and wakes the
+ * local task streams of the user.
+ * <p>
+ * Runs on its own thread with a dedicated connection, from a pool of one built from the same
+ * {@code spring.datasource.*} settings, since LISTEN holds it for the life of the node and it
+ * shouldn't count against the application pool. Only started with
+ * {@code api.tasks.cache.invalidation.enabled}, meant for deployments with more than one node. Notifications sent while the connection is down are lost, so the local
+ * cache is flushed when the connection fails and again once LISTEN is re-established, when every
+ * stream is also told to catch up.
+ */
+@Component
+public class CacheInvalidationListener {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    @Autowired
+    private TaskCache taskCache;
+    @Autowired
+    private CacheInvalidationPublisher publisher;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${api.tasks.cache.invalidation.enabled:false}")
+    private boolean enabled;
+
+    // Replaced in tests to stand in for the database and the clock.
+    private Connector connector = this::connect;
+    private Sleeper sleeper = Thread::sleep;
+
+    private volatile boolean running;
+    private Thread thread;
+    private HikariDataSource dataSource;
+
+    // A LISTEN session on a dedicated connection.
+    interface Session extends AutoCloseable {
+        // Payloads received within the timeout, empty if none.
+        List<String> poll(int timeoutMs) throws SQLException;
+
+        void ping() throws SQLException;
+
+        @Override
+        void close() throws SQLException;
+    }
+
+    interface Connector {
+        Session connect() throws SQLException;
+    }
+
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    @PostConstruct
+    void start() {
+        if(!enabled) return;
+
+        dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("task-cache-listener");
+        dataSource.setMaximumPoolSize(1);
+
+        running = true;
+        thread = Thread.ofPlatform().name("task-cache-listener").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if(thread == null) return;
+
+        thread.interrupt();
+        thread.join(POLL_TIMEOUT_MS * 2L);
+        dataSource.close();
+    }
+
+    void run() {
+        long backoff = 1000;
+        boolean reconnecting = false;
+
+        while(running) {
+            try (Session session = connector.connect()) {
+                if(reconnecting) {
+                    taskCache.clear();
+                    eventPublisher.publishEvent(TaskChangedEvent.anyUser());
+                    logger.warn("Cache invalidation listener reconnected, local task cache flushed");
+                }
+                reconnecting = false;
+                backoff = 1000;
+
+                listen(session);
+            }
+            catch (SQLException exception) {
+                if(!running) return;
+
+                // Whatever was published from now until LISTEN is back will never reach this node.
+                taskCache.clear();
+                reconnecting = true;
+                logger.error("Cache invalidation listener lost its connection, retrying in {} ms: {}", backoff, exception.getMessage());
+
+                try {
+                    sleeper.sleep(backoff);
+                }
+                catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void listen(Session session) throws SQLException {
+        long lastHeartbeat = System.nanoTime();
+
+        while(running) {
+            for(String payload : session.poll(POLL_TIMEOUT_MS)) handle(payload);
+
+            // A silently dropped connection never errors on an idle LISTEN, a round trip does.
+            if(System.nanoTime() - lastHeartbeat > HEARTBEAT_NANOS) {
+                session.ping();
+                lastHeartbeat = System.nanoTime();
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.indexOf('|');
+        if(separator < 0) {
+            logger.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+
+        // This node already evicted its own entries after commit.
+        if(payload.substring(0, separator).equals(publisher.getNodeId())) return;
+
+        try {
+            UUID userId = UUID.fromString(payload.substring(separator + 1));
+            taskCache.evictUserLocally(userId);
+            eventPublisher.publishEvent(new TaskChangedEvent(userId));
+        }
+        catch (IllegalArgumentException exception) {
+            logger.warn("Ignoring malformed cache invalidation: {}", payload);
+        }
+    }
+
+    private Session connect() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            Statement statement = connection.createStatement();
+            statement.execute("LISTEN " + CacheInvalidationPublisher.CHANNEL);
+            return new PostgresSession(connection, statement);
+        }
+        catch (SQLException exception) {
+            connection.close();
+            throw exception;
+        }
+    }
+
+    private record PostgresSession(Connection connection, Statement statement) implements Session {
+        @Override
+        public List<String> poll(int timeoutMs) throws SQLException {
+            PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(timeoutMs);
+            if(notifications == null) return List.of();
+            return Arrays.stream(notifications).map(PGNotification::getParameter).toList();
+        }
+
+        @Override
+        public void ping() throws SQLException {
+            statement.execute("SELECT 1");
+        }
+
+        @Override
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+}
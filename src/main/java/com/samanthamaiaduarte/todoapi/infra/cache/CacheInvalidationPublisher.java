@@ -0,0 +1,36 @@
+package com.samanthamaiaduarte.todoapi.infra.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Tells the other nodes that a user's tasks changed, through Postgres {@code pg_notify}.
+ * The notification is sent on the caller's connection, so Postgres delivers it only if the
+ * surrounding transaction commits. Off unless {@code api.tasks.cache.invalidation.enabled} is set,
+ * the same switch as the {@link CacheInvalidationListener}: a single node has no one to tell.
+ */
+@Component
+public class CacheInvalidationPublisher {
+    public static final String CHANNEL = "task_cache_invalidation";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${api.tasks.cache.invalidation.enabled:false}")
+    private boolean enabled;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public void publish(UUID userId) {
+        if(!enabled) return;
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, CHANNEL, nodeId + "|" + userId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
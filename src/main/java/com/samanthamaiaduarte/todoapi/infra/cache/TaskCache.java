@@ -0,0 +1,149 @@
+package com.samanthamaiaduarte.todoapi.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDuePageDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskPageDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-heap read-through cache of task reads, bounded by an estimated weight in bytes and a TTL.
+ * <p>
+ * Every key carries the generation of its user. A mutation moves the user to a new generation once
+ * its transaction commits, so all of that user's entries become unreachable at once (and age out),
+ * while other users keep theirs. Because the generation is taken before the database is read, a
+ * reader racing a mutation can only store its result under the old generation, never serve it later.
+ * Other nodes are told through {@link CacheInvalidationPublisher}.
+ * <p>
+ * {@link #get} returns {@code null} on a miss and {@link #put} ignores a {@code null} key, so the cache
+ * is transparent when disabled.
+ */
+@Component
+public class TaskCache {
+    private static final String CACHE_NAME = "tasks";
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    @Value("${api.tasks.cache.enabled:true}")
+    private boolean enabled;
+    @Value("${api.tasks.cache.max-weight-bytes:67108864}")
+    private long maxWeightBytes;
+    @Value("${api.tasks.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // Replaced in tests to move time forward.
+    private Ticker ticker = Ticker.systemTicker();
+
+    // Generation values are never reused, even for a user whose entry was evicted and recreated.
+    private final AtomicLong nextGeneration = new AtomicLong();
+
+    private Cache<UUID, Long> generations;
+    private Cache<Key, Object> entries;
+
+    public record Key(UUID userId, long generation, String name, List<Object> args) { }
+
+    @PostConstruct
+    void init() {
+        generations = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_USERS)
+                .build();
+
+        entries = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Key key, Object value) -> weigh(value))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME);
+        Gauge.builder("cache.weight", entries, cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", entries, cache -> cache.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public Key key(UUID userId, String name, Object... args) {
+        if(!enabled) return null;
+
+        long generation = generations.get(userId, id -> nextGeneration.incrementAndGet());
+        return new Key(userId, generation, name, Arrays.asList(args));
+    }
+
+    public <T> T get(Key key, Class<T> type) {
+        if(key == null) return null;
+        return type.cast(entries.getIfPresent(key));
+    }
+
+    public void put(Key key, Object value) {
+        if(key == null || value == null) return;
+        entries.put(key, value);
+    }
+
+    /**
+     * Drops every entry of the user, on this node and on the others. Inside a transaction this happens
+     * after commit, so readers can't cache the state the transaction is about to replace.
+     */
+    public void evictUser(UUID userId) {
+        invalidationPublisher.publish(userId);
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictUserLocally(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictUserLocally(userId);
+            }
+        });
+    }
+
+    public void evictUserLocally(UUID userId) {
+        if(!enabled) return;
+        generations.put(userId, nextGeneration.incrementAndGet());
+    }
+
+    public void clear() {
+        generations.invalidateAll();
+        entries.invalidateAll();
+    }
+
+    // Rough heap footprint: object headers and references plus two bytes per character.
+    static int weigh(Object value) {
+        return switch (value) {
+            case TaskPageDTO page -> 64 + page.tasks().stream().mapToInt(TaskCache::weigh).sum()
+                    + (page.nextCursor() == null ? 0 : 40 + 2 * page.nextCursor().length());
+            case TaskResponseDTO task -> 160 + 2 * (task.title().length() + (task.description() == null ? 0 : task.description().length()));
+            case TaskDuePageDTO page -> 64 + page.tasks().stream().mapToInt(TaskCache::weigh).sum()
+                    + (page.nextCursor() == null ? 0 : 40 + 2 * page.nextCursor().length());
+            case TaskDueDTO task -> 120 + 2 * task.title().length();
+            default -> 32;
+        };
+    }
+}
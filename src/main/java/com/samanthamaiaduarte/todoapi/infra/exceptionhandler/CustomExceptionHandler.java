@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -33,6 +34,30 @@ public class CustomExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
 
+    @ExceptionHandler(TaskCursorInvalidException.class)
+    public ResponseEntity<ExceptionHandlerDTO> taskCursorInvalidHandler(TaskCursorInvalidException exception) {
+        logger.warn("Task cursor invalid exception: {}", exception.getMessage());
+
+        ExceptionHandlerDTO response = new ExceptionHandlerDTO(HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST, LocalDateTime.now(), exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(TaskChangesExpiredException.class)
+    public ResponseEntity<ExceptionHandlerDTO> taskChangesExpiredHandler(TaskChangesExpiredException exception) {
+        logger.warn("Task changes expired exception: {}", exception.getMessage());
+
+        ExceptionHandlerDTO response = new ExceptionHandlerDTO(HttpStatus.GONE.value(), HttpStatus.GONE, LocalDateTime.now(), exception.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(response);
+    }
+
+    @ExceptionHandler(TaskDueRangeInvalidException.class)
+    public ResponseEntity<ExceptionHandlerDTO> taskDueRangeInvalidHandler(TaskDueRangeInvalidException exception) {
+        logger.warn("Task due range invalid exception: {}", exception.getMessage());
+
+        ExceptionHandlerDTO response = new ExceptionHandlerDTO(HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST, LocalDateTime.now(), exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ExceptionHandlerDTO> userNotFoundHandler(UserNotFoundException exception) {
         logger.warn("User not found exception: {}", exception.getMessage());
@@ -41,6 +66,14 @@ public class CustomExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    @ExceptionHandler(RefreshTokenInvalidException.class)
+    public ResponseEntity<ExceptionHandlerDTO> refreshTokenInvalidHandler(RefreshTokenInvalidException exception) {
+        logger.warn("Refresh token invalid exception: {}", exception.getMessage());
+
+        ExceptionHandlerDTO response = new ExceptionHandlerDTO(HttpStatus.UNAUTHORIZED.value(), HttpStatus.UNAUTHORIZED, LocalDateTime.now(), exception.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    }
+
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<ExceptionHandlerDTO> userAlreadyExistsHandler(UserAlreadyExistsException exception) {
         logger.warn("User already exists exception: {}", exception.getMessage());
@@ -64,4 +97,14 @@ public class CustomExceptionHandler {
         ExceptionHandlerDTO response = new ExceptionHandlerDTO(HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST, LocalDateTime.now(), exception.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ExceptionHandlerDTO> serviceBusyHandler(ServiceBusyException exception) {
+        logger.warn("Service busy exception: {}", exception.getMessage());
+
+        ExceptionHandlerDTO response = new ExceptionHandlerDTO(HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.SERVICE_UNAVAILABLE, LocalDateTime.now(), exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(response);
+    }
 }
@@ -7,11 +7,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.method.ParameterErrors;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
@@ -32,6 +34,25 @@ public class DefaultExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    // Method validation covers list bodies (POST /tasks/batch): item errors are keyed by position, e.g. "[3].title".
+    @Override
+    public ResponseEntity<Object> handleHandlerMethodValidationException(HandlerMethodValidationException exception, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        Map<String, String> errors = new HashMap<>();
+
+        exception.getParameterValidationResults().forEach( result -> {
+            if(result instanceof ParameterErrors parameterErrors && parameterErrors.getContainerIndex() != null) {
+                String prefix = "[" + parameterErrors.getContainerIndex() + "].";
+                parameterErrors.getFieldErrors().forEach( error -> errors.put(prefix + error.getField(), error.getDefaultMessage()) );
+            }
+            else {
+                result.getResolvableErrors().forEach( error -> errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage()) );
+            }
+        });
+
+        ValidationHandlerDTO response = new ValidationHandlerDTO(HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST, LocalDateTime.now(), errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @Override
     public ResponseEntity<Object> handleHttpMediaTypeNotSupported(HttpMediaTypeNotSupportedException exception, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
         String message = "Content type not supported. Use 'application/json' in requisition header.";
@@ -0,0 +1,22 @@
+package com.samanthamaiaduarte.todoapi.infra.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Metrics that Spring Boot doesn't publish on its own. HTTP, JVM, Hikari and repository
+ * ({@code spring.data.repository.invocations}) metrics come from actuator; {@code @Timed} methods are
+ * handled by the aspect enabled with {@code management.observations.annotations.enabled}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    // Replaces the converter Spring Boot would create, with the same ObjectMapper.
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.samanthamaiaduarte.todoapi.infra.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * The Jackson converter of the MVC responses, timing each body it writes as {@code http.json.write}.
+ * The type tag is the simple name of the body class, or of its first element for collections, so it
+ * is bounded by the DTOs of the API.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final MeterRegistry meterRegistry;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        }
+        finally {
+            sample.stop(Timer.builder("http.json.write")
+                    .description("JSON serialization of response bodies")
+                    .tag("type", typeName(object))
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String typeName(Object object) {
+        if(object instanceof Collection<?> collection) {
+            return collection.isEmpty() ? "List" : "List<" + collection.iterator().next().getClass().getSimpleName() + ">";
+        }
+        return object.getClass().getSimpleName();
+    }
+}
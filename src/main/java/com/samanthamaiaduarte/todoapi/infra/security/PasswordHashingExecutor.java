@@ -0,0 +1,106 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import com.samanthamaiaduarte.todoapi.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs BCrypt work (login verification and password encoding) on its own small pool, so a burst
+ * of logins can't take every servlet worker. Nothing queues for a thread: when every hashing thread is busy
+ * the caller is rejected right away with a {@link ServiceBusyException}, so at most one servlet
+ * thread per hashing thread waits, and only for a hash that already has a thread of its own.
+ */
+@Component
+public class PasswordHashingExecutor {
+    static final List<String> OPERATIONS = List.of("verify", "encode");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.security.password.pool-size:4}")
+    private int poolSize;
+    @Value("${api.security.password.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    // One permit per hashing thread, taken before submitting and given back when the hash is done.
+    private Semaphore permits;
+    private Map<String, Timer> timers;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        permits = new Semaphore(poolSize);
+        // The permits keep at most poolSize tasks in the executor, so its queue never holds one waiting for a thread.
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        timers = OPERATIONS.stream().collect(Collectors.toUnmodifiableMap(Function.identity(),
+                operation -> Timer.builder("password.hashing").tag("operation", operation).register(meterRegistry)));
+        rejected = Counter.builder("password.hashing.rejected").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public <T> T execute(String operation, Callable<T> task) {
+        Timer timer = timers.get(operation);
+        if(timer == null) throw new IllegalArgumentException("Unknown password hashing operation: " + operation);
+        if(!permits.tryAcquire()) {
+            rejected.increment();
+            throw new ServiceBusyException(retryAfterSeconds);
+        }
+        Future<T> future;
+
+        try {
+            future = executor.submit(() -> {
+                try {
+                    return timer.recordCallable(task);
+                }
+                finally {
+                    permits.release();
+                }
+            });
+        }
+        catch (RejectedExecutionException exception) {
+            permits.release();
+            throw exception;
+        }
+
+        try {
+            return future.get();
+        }
+        catch (ExecutionException exception) {
+            if(exception.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(exception.getCause());
+        }
+        catch (InterruptedException exception) {
+            // Not cancelled: a task cancelled before it starts would never give its permit back, and a hash is short.
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(retryAfterSeconds);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.samanthamaiaduarte.todoapi.infra.security;
 
 import com.samanthamaiaduarte.todoapi.infra.exceptionhandler.CustomAccessDeniedHandler;
 import com.samanthamaiaduarte.todoapi.infra.exceptionhandler.CustomAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +19,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -27,20 +32,29 @@ public class SecurityConfiguration {
     @Autowired
     private CustomAccessDeniedHandler customAccessDeniedHandler;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+    @Value("${server.port:8080}")
+    private int serverPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain (HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Completion of an async request (the task stream) that was authorized when it started.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/swagger-ui.html",
                                 "/swagger-ui/**",
                                 "/docs/**",
                                 "/v3/api-docs/**"
                         ).permitAll()
+                        .requestMatchers(managementEndpoints()).permitAll()
                         .requestMatchers(HttpMethod.POST,"/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST,"/auth/register").permitAll()
+                        .requestMatchers(HttpMethod.POST,"/auth/refresh").permitAll()
                         .requestMatchers(HttpMethod.POST, "/admin/register").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
@@ -51,6 +65,17 @@ public class SecurityConfiguration {
                 .build();
     }
 
+    // Health and metrics are open without a token, so only on the management port, which isn't meant to be published.
+    // Sharing the API port would publish them with it: startup fails instead.
+    RequestMatcher managementEndpoints() {
+        if(managementPort < 0 || managementPort == serverPort) {
+            throw new IllegalStateException("management.server.port must be set apart from server.port (" + serverPort + "): health and prometheus are served there without a token.");
+        }
+
+        RequestMatcher onManagementPort = request -> request.getLocalPort() == managementPort;
+        return new AndRequestMatcher(EndpointRequest.to("health", "prometheus"), onManagementPort);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
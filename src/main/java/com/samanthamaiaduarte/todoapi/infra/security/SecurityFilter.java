@@ -1,45 +1,91 @@
 package com.samanthamaiaduarte.todoapi.infra.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
 import com.samanthamaiaduarte.todoapi.exception.ApiTokenExpiredException;
 import com.samanthamaiaduarte.todoapi.exception.ApiTokenInvalidException;
 import com.samanthamaiaduarte.todoapi.infra.exceptionhandler.CustomAuthenticationEntryPoint;
 import com.samanthamaiaduarte.todoapi.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
+    private static final int MAX_REVALIDATED_USERS = 100_000;
+
     @Autowired
     private TokenService tokenService;
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private CustomAuthenticationEntryPoint entryPoint;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 0 disables revalidation: the token claims are trusted until the token expires.
+    @Value("${api.security.principal.revalidate-seconds:0}")
+    private long revalidateSeconds;
+
+    // Replaced in tests to move time forward.
+    private Ticker ticker = Ticker.systemTicker();
+
+    // Users checked against the database in the last revalidate-seconds. Past the bound the least used are
+    // evicted one by one, so a full cache never sends every request to the database at once.
+    private Cache<UUID, AuthenticatedUser> revalidations;
+
+    private Timer verifyTimer;
+    private Timer lookupTimer;
+    private Counter expired;
+    private Counter invalid;
+
+    // The lookup phase is only recorded when the principal really comes from the database.
+    @PostConstruct
+    void init() {
+        verifyTimer = Timer.builder("security.filter").tag("phase", "verify").register(meterRegistry);
+        lookupTimer = Timer.builder("security.filter").tag("phase", "lookup").register(meterRegistry);
+        expired = Counter.builder("security.filter.rejected").tag("reason", "expired").register(meterRegistry);
+        invalid = Counter.builder("security.filter.rejected").tag("reason", "invalid").register(meterRegistry);
+
+        if(revalidateSeconds > 0) {
+            revalidations = Caffeine.newBuilder()
+                    .maximumSize(MAX_REVALIDATED_USERS)
+                    .expireAfterWrite(Duration.ofSeconds(revalidateSeconds))
+                    .ticker(ticker)
+                    .build();
+        }
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
         if(token != null) {
             try {
-                var login = tokenService.validateToken(token);
-                UserDetails user = userRepository.findByLogin(login);
+                var principal = resolvePrincipal(verifyTimer.record(() -> tokenService.validateToken(token)));
 
-                if (user == null) throw new ApiTokenInvalidException("User not found.");
-
-                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                var authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
             } catch (ApiTokenExpiredException | ApiTokenInvalidException exception) {
+                (exception instanceof ApiTokenExpiredException ? expired : invalid).increment();
                 entryPoint.commence(request, response, exception);
                 return;
             }
@@ -47,6 +93,29 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private AuthenticatedUser resolvePrincipal(AuthenticatedUser principal) {
+        if(principal.id() == null) return loadPrincipal(principal.login());
+        if(revalidateSeconds <= 0) return principal;
+
+        AuthenticatedUser checked = revalidations.getIfPresent(principal.id());
+        if(checked != null) return checked;
+
+        AuthenticatedUser current = lookupTimer.record(() -> userRepository.findById(principal.id()))
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new ApiTokenInvalidException("User not found."));
+
+        revalidations.put(principal.id(), current);
+
+        return current;
+    }
+
+    private AuthenticatedUser loadPrincipal(String login) {
+        var user = lookupTimer.record(() -> userRepository.findByLogin(login));
+
+        if (user == null) throw new ApiTokenInvalidException("User not found.");
+        return AuthenticatedUser.from((User) user);
+    }
+
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         return authHeader == null ? null : authHeader.replace("Bearer ", "");
@@ -0,0 +1,132 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Signing keys identified by a key id ({@code kid} header). One key signs new tokens, every key in
+ * the ring can verify, so rotating the secret doesn't invalidate tokens already issued.
+ * <p>
+ * Without {@code api.security.token.keys-file} the ring holds only {@code api.security.token.secret}
+ * under the {@value #DEFAULT_KID} id. The file is a properties file reloaded when it changes:
+ * <pre>
+ * active=2025-07
+ * keys.2025-07=new-secret
+ * keys.default=
+ * </pre>
+ * Once the file lists keys, only those verify: {@code keys.default=} with no value keeps
+ * {@code api.security.token.secret} in the ring, and removing the line retires it.
+ * Tokens without a {@code kid} header (issued before key ids existed) are checked with the
+ * {@value #DEFAULT_KID} key.
+ */
+@Component
+public class SigningKeyRing {
+    public static final String DEFAULT_KID = "default";
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyRing.class);
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${api.security.token.secret}")
+    private String secret;
+    @Value("${api.security.token.keys-file:}")
+    private String keysFile;
+
+    private volatile Keys keys;
+    private volatile FileTime loadedModifiedTime;
+
+    public record SigningKey(String kid, Algorithm algorithm) { }
+
+    private record Keys(SigningKey active, Map<String, JWTVerifier> verifiers) { }
+
+    @PostConstruct
+    void init() throws IOException {
+        if(keysFile.isBlank()) {
+            keys = build(DEFAULT_KID, Map.of(DEFAULT_KID, secret));
+            return;
+        }
+
+        loadedModifiedTime = Files.getLastModifiedTime(Path.of(keysFile));
+        keys = load(Path.of(keysFile));
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.token.keys-reload-interval-ms:30000}")
+    void reload() {
+        if(keysFile.isBlank()) return;
+
+        try {
+            Path path = Path.of(keysFile);
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            if(modifiedTime.equals(loadedModifiedTime)) return;
+
+            keys = load(path);
+            loadedModifiedTime = modifiedTime;
+
+            // A removed key must stop authenticating right away, even for tokens already cached.
+            verifiedTokenCache.clear();
+            logger.warn("Signing keys reloaded, active key id: {}", keys.active().kid());
+        }
+        catch (IOException | IllegalArgumentException exception) {
+            logger.error("Could not reload signing keys, keeping the current ones: {}", exception.getMessage());
+        }
+    }
+
+    public SigningKey activeKey() {
+        return keys.active();
+    }
+
+    public JWTVerifier verifier(String kid) {
+        return keys.verifiers().get(kid == null ? DEFAULT_KID : kid);
+    }
+
+    private Keys load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+
+        Map<String, String> secrets = new HashMap<>();
+        properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith("keys."))
+                .forEach(name -> secrets.put(name.substring("keys.".length()), properties.getProperty(name)));
+
+        // The configured secret only stays in the ring while the file doesn't list its own keys, or lists
+        // default without a value; otherwise dropping it from the file retires it.
+        if(secrets.isEmpty() || (secrets.containsKey(DEFAULT_KID) && secrets.get(DEFAULT_KID).isBlank())) secrets.put(DEFAULT_KID, secret);
+
+        return build(properties.getProperty("active", DEFAULT_KID), secrets);
+    }
+
+    private static Keys build(String activeKid, Map<String, String> secrets) {
+        if(!secrets.containsKey(activeKid)) throw new IllegalArgumentException("Active key id not found: " + activeKid);
+
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        SigningKey active = null;
+
+        for(Map.Entry<String, String> entry : secrets.entrySet()) {
+            Algorithm algorithm = Algorithm.HMAC256(entry.getValue());
+            verifiers.put(entry.getKey(), JWT.require(algorithm).withIssuer("todoapi").build());
+
+            if(entry.getKey().equals(activeKid)) active = new SigningKey(activeKid, algorithm);
+        }
+
+        return new Keys(active, Map.copyOf(verifiers));
+    }
+}
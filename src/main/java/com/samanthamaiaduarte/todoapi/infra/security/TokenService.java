@@ -1,16 +1,21 @@
 package com.samanthamaiaduarte.todoapi.infra.security;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
 import com.samanthamaiaduarte.todoapi.domain.user.LoginResponseDTO;
 import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
 import com.samanthamaiaduarte.todoapi.exception.ApiTokenCreationException;
 import com.samanthamaiaduarte.todoapi.exception.ApiTokenExpiredException;
 import com.samanthamaiaduarte.todoapi.exception.ApiTokenInvalidArgsException;
 import com.samanthamaiaduarte.todoapi.exception.ApiTokenInvalidException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -18,25 +23,34 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+    @Value("${api.security.token.expiration-seconds:7200}")
+    private int expirationSeconds;
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    @Autowired
+    private SigningKeyRing signingKeyRing;
 
+    @Timed(value = "token.generate", description = "JWT signing")
     public LoginResponseDTO generateToken(User user) {
 
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
+            SigningKeyRing.SigningKey signingKey = signingKeyRing.activeKey();
             LocalDateTime refresh = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
             String token = JWT.create()
+                    .withKeyId(signingKey.kid())
                     .withIssuer("todoapi")
                     .withSubject(user.getLogin())
+                    .withClaim("uid", user.getId().toString())
+                    .withClaim("role", user.getRole().name())
                     .withExpiresAt(generateExpirationDate(refresh))
-                    .sign(algorithm);
+                    .sign(signingKey.algorithm());
 
-            return new LoginResponseDTO(refresh, "bearer", token, 7200);
+            return new LoginResponseDTO(refresh, "bearer", token, expirationSeconds, null);
         }
         catch (IllegalArgumentException exception) {
             throw new ApiTokenInvalidArgsException("Invalid information: " + exception.getMessage());
@@ -46,14 +60,25 @@ public class TokenService {
         }
     }
 
-    public String validateToken(String token) {
+    // Includes verified token cache hits, see token.cache.requests for the split.
+    @Timed(value = "token.validate", description = "JWT verification")
+    public AuthenticatedUser validateToken(String token) {
+        String trimmedToken = token.trim();
+
+        AuthenticatedUser cachedPrincipal = verifiedTokenCache.get(trimmedToken);
+        if(cachedPrincipal != null) return cachedPrincipal;
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("todoapi")
-                    .build()
-                    .verify(token.trim())
-                    .getSubject();
+            DecodedJWT decodedJWT = JWT.decode(trimmedToken);
+            JWTVerifier verifier = signingKeyRing.verifier(decodedJWT.getKeyId());
+
+            if(verifier == null) throw new ApiTokenInvalidException("Invalid token.");
+            verifier.verify(decodedJWT);
+
+            AuthenticatedUser principal = toPrincipal(decodedJWT);
+            verifiedTokenCache.put(trimmedToken, principal, decodedJWT.getExpiresAtAsInstant());
+
+            return principal;
         }
         catch (TokenExpiredException exception) {
             throw new ApiTokenExpiredException("Token has expired at " + exception.getExpiredOn().truncatedTo(ChronoUnit.SECONDS));
@@ -63,7 +88,22 @@ public class TokenService {
         }
     }
 
+    private AuthenticatedUser toPrincipal(DecodedJWT decodedJWT) {
+        String uid = decodedJWT.getClaim("uid").asString();
+        String role = decodedJWT.getClaim("role").asString();
+
+        // Tokens issued before the claims existed only carry the login; the filter resolves those from the database.
+        if(uid == null || role == null) return new AuthenticatedUser(null, decodedJWT.getSubject(), null);
+
+        try {
+            return new AuthenticatedUser(UUID.fromString(uid), decodedJWT.getSubject(), UserRole.valueOf(role));
+        }
+        catch (IllegalArgumentException exception) {
+            throw new ApiTokenInvalidException("Invalid token.");
+        }
+    }
+
     private Instant generateExpirationDate(LocalDateTime refresh) {
-        return refresh.plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return refresh.plusSeconds(expirationSeconds).toInstant(ZoneOffset.of("-03:00"));
     }
 }
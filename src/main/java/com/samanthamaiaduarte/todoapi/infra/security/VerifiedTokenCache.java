@@ -0,0 +1,104 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded cache of tokens that already passed signature verification.
+ * Entries are keyed by the SHA-256 of the token (raw bearer tokens are never kept in memory)
+ * and expire at the token's own expiration. Past max-size Caffeine evicts the least useful entries
+ * in amortized constant time; an evicted token is simply verified again.
+ */
+@Component
+public class VerifiedTokenCache {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.security.token.cache.enabled:true}")
+    private boolean enabled;
+    @Value("${api.security.token.cache.max-size:10000}")
+    private int maxSize;
+
+    // Replaced in tests to move time forward.
+    private Ticker ticker = Ticker.systemTicker();
+
+    private Cache<String, Entry> entries;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+
+    private record Entry(AuthenticatedUser principal, Instant expiresAt) { }
+
+    @PostConstruct
+    void init() {
+        evictions = Counter.builder("token.cache.evictions").register(meterRegistry);
+
+        // Eviction runs on the calling thread: it is a constant amount of work per write, and the counter stays exact.
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpiresAtToken())
+                .evictionListener((String key, Entry entry, RemovalCause cause) -> evictions.increment())
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build();
+
+        hits = Counter.builder("token.cache.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("token.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("token.cache.size", entries, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    public AuthenticatedUser get(String token) {
+        if(!enabled) return null;
+
+        Entry entry = entries.getIfPresent(TokenDigest.sha256(token));
+        if(entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.principal();
+    }
+
+    public void put(String token, AuthenticatedUser principal, Instant expiresAt) {
+        if(!enabled || expiresAt == null) return;
+        entries.put(TokenDigest.sha256(token), new Entry(principal, expiresAt));
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    // Lives until the exp claim, however often it is read; a put for the same token restarts from its exp.
+    private static final class ExpiresAtToken implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), entry.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
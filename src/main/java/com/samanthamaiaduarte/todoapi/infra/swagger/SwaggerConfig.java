@@ -1,11 +1,17 @@
 package com.samanthamaiaduarte.todoapi.infra.swagger;
 
+import com.samanthamaiaduarte.todoapi.domain.task.TaskBulkResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangeDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangesDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskStatsDTO;
 import com.samanthamaiaduarte.todoapi.domain.user.LoginResponseDTO;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.headers.Header;
 import io.swagger.v3.oas.models.media.*;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.security.SecurityScheme;
@@ -37,15 +43,49 @@ public class SwaggerConfig {
                 new TaskResponseDTO(UUID.randomUUID(),"Task title 3", "Task description 3", date.plusDays(1), true)
         );
 
-        LoginResponseDTO token = new LoginResponseDTO(dateTime, "bearer", "valid_token", 7200);
+        List<TaskDueDTO> tasksDue = List.of(
+                new TaskDueDTO(UUID.randomUUID(), "Task title 1", date.minusDays(2)),
+                new TaskDueDTO(UUID.randomUUID(), "Task title 2", date.minusDays(1))
+        );
+
+        TaskStatsDTO statsResponse = new TaskStatsDTO(12, 30, 3, 2);
+
+        TaskBulkResponseDTO bulkResponse = new TaskBulkResponseDTO(List.of(UUID.randomUUID(), UUID.randomUUID()), List.of(UUID.randomUUID()));
+
+        TaskChangesDTO changesResponse = new TaskChangesDTO(List.of(
+                new TaskChangeDTO(UUID.randomUUID(), "Task title 1", "Task description 1", date, true, false),
+                new TaskChangeDTO(UUID.randomUUID(), null, null, null, null, true)
+        ), "1024", false);
+
+        String streamResponse = """
+                event: ready
+                id: 1024
+                data: 1024
+
+                :heartbeat
+
+                event: task
+                id: 1025
+                data: {"id":"9e8088d0-c495-40cd-8fe5-6f76857c677f","title":"Task title","description":"Task description","dueDate":"2025-06-28","completed":true,"deleted":false}
+                """;
+
+        String exportResponse = """
+                {"id":"9e8088d0-c495-40cd-8fe5-6f76857c677f","title":"Task title 1","description":"Task description 1","dueDate":"2025-06-27","completed":false}
+                {"id":"0b1a5e4c-2f7d-4a53-9d4e-3c1f8f0a7b21","title":"Task title 2","description":"Task description 2","dueDate":"2025-06-28","completed":true}
+                """;
+
+        LoginResponseDTO token = new LoginResponseDTO(dateTime, "bearer", "valid_token", 7200, "valid_refresh_token");
 
         ExceptionHandlerSchema badRequest = new ExceptionHandlerSchema(400, "BAD_REQUEST", dateTime, "Invalid data.");
         ExceptionHandlerSchema unauthorized = new ExceptionHandlerSchema(401, "UNAUTHORIZED", dateTime, "Invalid / Expired token.");
         ExceptionHandlerSchema unauthorizedLogin = new ExceptionHandlerSchema(401, "UNAUTHORIZED", dateTime, "Invalid credentials.");
+        ExceptionHandlerSchema unauthorizedRefresh = new ExceptionHandlerSchema(401, "UNAUTHORIZED", dateTime, "Invalid / Expired / Reused refresh token.");
         ExceptionHandlerSchema forbidden = new ExceptionHandlerSchema(403, "FORBIDDEN", dateTime, "No permission / Token is required.");
         ExceptionHandlerSchema notFound = new ExceptionHandlerSchema(404, "NOT_FOUND", dateTime, "Record not found.");
+        ExceptionHandlerSchema gone = new ExceptionHandlerSchema(410, "GONE", dateTime, "Changes cursor is older than the tombstone retention, sync again without it.");
         ExceptionHandlerSchema conflict = new ExceptionHandlerSchema(409, "CONFLICT", dateTime, "Record already exists.");
         ExceptionHandlerSchema unsupported = new ExceptionHandlerSchema(415, "UNSUPPORTED_MEDIA_TYPE", dateTime, "Wrong data type content for payload.");
+        ExceptionHandlerSchema unavailable = new ExceptionHandlerSchema(503, "SERVICE_UNAVAILABLE", dateTime, "Server is busy, try again later.");
 
         return new OpenAPI()
                 .components(new Components()
@@ -61,6 +101,7 @@ public class SwaggerConfig {
                                 .addProperty("token_type", new StringSchema())
                                 .addProperty("access_token", new StringSchema())
                                 .addProperty("expires_in", new IntegerSchema())
+                                .addProperty("refresh_token", new StringSchema())
                         )
                         .addSchemas("Error", new Schema<ExceptionHandlerSchema>()
                                 .description("Payload for a error message.")
@@ -79,6 +120,40 @@ public class SwaggerConfig {
                                 .addProperty("dueDate", new DateSchema())
                                 .addProperty("completed", new BooleanSchema())
                         )
+                        .addSchemas("TaskDue", new Schema<TaskDueDTO>()
+                                .description("Task in the overdue and due-soon views")
+                                .type("object")
+                                .addProperty("id", new UUIDSchema())
+                                .addProperty("title", new StringSchema())
+                                .addProperty("dueDate", new DateSchema())
+                        )
+                        .addSchemas("TaskStats", new Schema<TaskStatsDTO>()
+                                .description("Task counts of the user")
+                                .type("object")
+                                .addProperty("open", new IntegerSchema())
+                                .addProperty("completed", new IntegerSchema())
+                                .addProperty("overdue", new IntegerSchema())
+                                .addProperty("dueToday", new IntegerSchema())
+                        )
+                        .addSchemas("TaskBulk", new Schema<TaskBulkResponseDTO>()
+                                .description("Tasks affected by a bulk operation")
+                                .type("object")
+                                .addProperty("affected", new ArraySchema().items(new UUIDSchema()))
+                                .addProperty("notFound", new ArraySchema().items(new UUIDSchema()))
+                        )
+                        .addSchemas("TaskChanges", new Schema<TaskChangesDTO>()
+                                .description("Task changes since a cursor")
+                                .type("object")
+                                .addProperty("changes", new ArraySchema().items(new ObjectSchema()
+                                        .addProperty("id", new UUIDSchema())
+                                        .addProperty("title", new StringSchema())
+                                        .addProperty("description", new StringSchema())
+                                        .addProperty("dueDate", new DateSchema())
+                                        .addProperty("completed", new BooleanSchema())
+                                        .addProperty("deleted", new BooleanSchema())))
+                                .addProperty("cursor", new StringSchema())
+                                .addProperty("hasMore", new BooleanSchema())
+                        )
                         .addResponses("200", new ApiResponse()
                                 .description("Ok")
                                 .content(new Content().addMediaType("application/json",
@@ -97,12 +172,48 @@ public class SwaggerConfig {
                                         new MediaType().schema(new Schema<>().$ref("#/components/schemas/Task")).example(tasksCompleted))
                                 )
                         )
+                        .addResponses("200taskDueList", new ApiResponse()
+                                .description("Ok")
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new ArraySchema().items(new Schema<>().$ref("#/components/schemas/TaskDue"))).example(tasksDue))
+                                )
+                        )
+                        .addResponses("200taskStats", new ApiResponse()
+                                .description("Ok")
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/TaskStats")).example(statsResponse))
+                                )
+                        )
                         .addResponses("200updateTask", new ApiResponse()
                                 .description("Update successfully")
                                 .content(new Content().addMediaType("application/json",
                                         new MediaType().schema(new Schema<>().$ref("#/components/schemas/Task")).example(taskResponse))
                                 )
                         )
+                        .addResponses("200bulkTask", new ApiResponse()
+                                .description("Ok")
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/TaskBulk")).example(bulkResponse))
+                                )
+                        )
+                        .addResponses("200taskChanges", new ApiResponse()
+                                .description("Ok")
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/TaskChanges")).example(changesResponse))
+                                )
+                        )
+                        .addResponses("200taskStream", new ApiResponse()
+                                .description("Ok, the stream stays open")
+                                .content(new Content().addMediaType("text/event-stream",
+                                        new MediaType().schema(new StringSchema()).example(streamResponse))
+                                )
+                        )
+                        .addResponses("200taskExport", new ApiResponse()
+                                .description("Ok, one task per line")
+                                .content(new Content().addMediaType("application/x-ndjson",
+                                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/Task")).example(exportResponse))
+                                )
+                        )
                         .addResponses("200login", new ApiResponse()
                                 .description("Ok")
                                 .content(new Content().addMediaType("application/json",
@@ -118,12 +229,21 @@ public class SwaggerConfig {
                                         new MediaType().schema(new Schema<>().$ref("#/components/schemas/Task")).example(taskResponse))
                                 )
                         )
+                        .addResponses("201taskBatch", new ApiResponse()
+                                .description("Created successfully")
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/Task")).example(tasksUncompleted))
+                                )
+                        )
                         .addResponses("204deleteTask", new ApiResponse()
                                 .description("Record deleted")
                         )
                         .addResponses("204completeTask", new ApiResponse()
                                 .description("Updated successfully")
                         )
+                        .addResponses("304", new ApiResponse()
+                                .description("Not modified since the ETag sent in If-None-Match")
+                        )
                         .addResponses("400", new ApiResponse()
                                 .description("Bad request")
                                 .content(new Content().addMediaType("application/json",
@@ -142,6 +262,12 @@ public class SwaggerConfig {
                                         new MediaType().schema(new Schema<>().$ref("#/components/schemas/Error")).example(unauthorizedLogin))
                                 )
                         )
+                        .addResponses("401refresh", new ApiResponse()
+                                .description("Unauthorized")
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/Error")).example(unauthorizedRefresh))
+                                )
+                        )
                         .addResponses("403", new ApiResponse()
                                 .description("Forbidden")
                                 .content(new Content().addMediaType("application/json",
@@ -160,12 +286,27 @@ public class SwaggerConfig {
                                         new MediaType().schema(new Schema<>().$ref("#/components/schemas/Error")).example(conflict))
                                 )
                         )
+                        .addResponses("410", new ApiResponse()
+                                .description("Gone")
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/Error")).example(gone))
+                                )
+                        )
                         .addResponses("415", new ApiResponse()
                                 .description("Unsupported content")
                                 .content(new Content().addMediaType("application/json",
                                         new MediaType().schema(new Schema<>().$ref("#/components/schemas/Error")).example(unsupported))
                                 )
                         )
+                        .addResponses("503", new ApiResponse()
+                                .description("Service unavailable")
+                                .addHeaderObject("Retry-After", new Header()
+                                        .description("Seconds to wait before retrying")
+                                        .schema(new IntegerSchema()))
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/Error")).example(unavailable))
+                                )
+                        )
                 )
                 .info(new Info()
                         .title("TO-DO API")
@@ -0,0 +1,108 @@
+package com.samanthamaiaduarte.todoapi.infra.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samanthamaiaduarte.todoapi.exception.ExceptionHandlerDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the requests in flight when requests run on virtual threads ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * With platform threads the Tomcat pool is the cap. Virtual threads remove it, so a burst turns into
+ * thousands of requests queued on the Hikari pool, each waiting up to the connection timeout. Here a
+ * request waits at most {@code max-wait-ms} for a slot, in arrival order, and is otherwise answered
+ * 503 with Retry-After: latency stays bounded and the connection pool never becomes the queue.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+    // The application's mapper, so the 503 body is written like the ones of the exception handlers.
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${api.server.concurrency.max-requests:100}")
+    private int maxRequests;
+    @Value("${api.server.concurrency.max-wait-ms:500}")
+    private long maxWaitMs;
+    @Value("${api.server.concurrency.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private Semaphore permits;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxRequests, true);
+
+        Gauge.builder("http.server.concurrency.in.flight", permits, semaphore -> maxRequests - semaphore.availablePermits())
+                .description("Requests holding a concurrency slot")
+                .register(meterRegistry);
+        rejected = Counter.builder("http.server.concurrency.rejected")
+                .description("Requests answered 503 because no concurrency slot freed up in time")
+                .register(meterRegistry);
+    }
+
+    // Async dispatches (task stream, export) are skipped: their slot was released when the request thread returned.
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if(!acquire()) {
+            rejected.increment();
+            reject(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        }
+        finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ExceptionHandlerDTO responseBody = new ExceptionHandlerDTO(HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.SERVICE_UNAVAILABLE, LocalDateTime.now(), "Server is busy, try again later.");
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8");
+
+        objectMapper.writeValue(response.getOutputStream(), responseBody);
+        response.flushBuffer();
+    }
+}
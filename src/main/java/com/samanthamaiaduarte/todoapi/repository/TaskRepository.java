@@ -1,14 +1,238 @@
 package com.samanthamaiaduarte.todoapi.repository;
 
 import com.samanthamaiaduarte.todoapi.domain.task.Task;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+// Read queries project straight into TaskResponseDTO: only its columns are selected and no entity
+// (nor its owner) is loaded into the persistence context.
+// Writes are single statements filtered by owner; the affected rows tell whether the task was found.
+// Every write bumps tasks.version, the per-row version behind the task ETag, and takes a new change_seq
+// for the changes feed; deletes leave a tombstone. None of these columns are mapped on Task.
 public interface TaskRepository extends JpaRepository<Task, UUID> {
 
-    List<Task> findAllByUserIdAndCompleted(UUID userId, Boolean completed);
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO(t.id, t.title, t.description, t.dueDate, t.completed)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.completed = :completed
+            ORDER BY t.dueDate, t.id""")
+    List<TaskResponseDTO> findPage(@Param("userId") UUID userId, @Param("completed") Boolean completed, Limit limit);
 
-    Task findByIdAndUserId(UUID id, UUID userId);
+    // Keyset continuation: the dueDate >= bound keeps it a range scan on idx_tasks_user_completed_due_date.
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO(t.id, t.title, t.description, t.dueDate, t.completed)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.completed = :completed
+              AND t.dueDate >= :dueDate AND (t.dueDate > :dueDate OR t.id > :id)
+            ORDER BY t.dueDate, t.id""")
+    List<TaskResponseDTO> findPageAfter(@Param("userId") UUID userId, @Param("completed") Boolean completed,
+                                        @Param("dueDate") LocalDate dueDate, @Param("id") UUID id, Limit limit);
+
+    // Tasks due between two dates, both included; a range scan on idx_tasks_user_completed_due_date like the pages above.
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO(t.id, t.title, t.description, t.dueDate, t.completed)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.completed = :completed
+              AND t.dueDate BETWEEN :from AND :to
+            ORDER BY t.dueDate, t.id""")
+    List<TaskResponseDTO> findDuePage(@Param("userId") UUID userId, @Param("completed") Boolean completed,
+                                      @Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO(t.id, t.title, t.description, t.dueDate, t.completed)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.completed = :completed
+              AND t.dueDate >= :dueDate AND t.dueDate <= :to AND (t.dueDate > :dueDate OR t.id > :id)
+            ORDER BY t.dueDate, t.id""")
+    List<TaskResponseDTO> findDuePageAfter(@Param("userId") UUID userId, @Param("completed") Boolean completed, @Param("to") LocalDate to,
+                                           @Param("dueDate") LocalDate dueDate, @Param("id") UUID id, Limit limit);
+
+    // Open tasks due up to a date (the overdue view). completed = false is a literal so the planner can match
+    // the partial idx_tasks_user_open_due_date, which holds every selected column.
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO(t.id, t.title, t.dueDate)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.completed = false AND t.dueDate <= :to
+            ORDER BY t.dueDate, t.id""")
+    List<TaskDueDTO> findOpenDueUntil(@Param("userId") UUID userId, @Param("to") LocalDate to, Limit limit);
+
+    // Open tasks due between two dates, both included (the due-soon view).
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO(t.id, t.title, t.dueDate)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.completed = false AND t.dueDate BETWEEN :from AND :to
+            ORDER BY t.dueDate, t.id""")
+    List<TaskDueDTO> findOpenDueBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    // Next page of either view: the lower bound comes from the cursor.
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO(t.id, t.title, t.dueDate)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.completed = false
+              AND t.dueDate >= :dueDate AND t.dueDate <= :to AND (t.dueDate > :dueDate OR t.id > :id)
+            ORDER BY t.dueDate, t.id""")
+    List<TaskDueDTO> findOpenDueAfter(@Param("userId") UUID userId, @Param("to") LocalDate to,
+                                      @Param("dueDate") LocalDate dueDate, @Param("id") UUID id, Limit limit);
+
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO(t.id, t.title, t.description, t.dueDate, t.completed)
+            FROM Task t
+            WHERE t.id = :id AND t.user.id = :userId""")
+    TaskResponseDTO findDtoByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Every task of the user for the export. Postgres only honors the fetch size inside a transaction, where the
+    // rows come through a server-side cursor instead of all at once; the order follows idx_tasks_user_completed_due_date.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO(t.id, t.title, t.description, t.dueDate, t.completed)
+            FROM Task t
+            WHERE t.user.id = :userId
+            ORDER BY t.completed, t.dueDate, t.id""")
+    Stream<TaskResponseDTO> streamAllByUserId(@Param("userId") UUID userId);
+
+    @Query(value = "SELECT version FROM tasks WHERE id = :id AND user_id = :userId", nativeQuery = true)
+    Long findVersionByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Not @Modifying: RETURNING makes Postgres answer the UPDATE with a result set, mapped back to the entity.
+    @Transactional
+    @Query(value = """
+            UPDATE tasks SET title = :title, description = :description, due_date = :dueDate,
+                             version = version + 1, change_seq = nextval('task_change_seq')
+            WHERE id = :id AND user_id = :userId
+            RETURNING *""", nativeQuery = true)
+    Optional<Task> updateByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId, @Param("title") String title,
+                                       @Param("description") String description, @Param("dueDate") LocalDate dueDate);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE tasks SET completed = true, version = version + 1, change_seq = nextval('task_change_seq')
+            WHERE id = :id AND user_id = :userId""", nativeQuery = true)
+    int completeByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Transactional
+    @Query(value = """
+            UPDATE tasks SET completed = true, version = version + 1, change_seq = nextval('task_change_seq')
+            WHERE user_id = :userId AND id IN (:ids)
+            RETURNING id""", nativeQuery = true)
+    List<UUID> completeAllByIdAndUserId(@Param("ids") List<UUID> ids, @Param("userId") UUID userId);
+
+    @Transactional
+    @Query(value = """
+            WITH deleted AS (
+                DELETE FROM tasks
+                WHERE user_id = :userId AND id IN (:ids)
+                RETURNING id, user_id
+            ), tombstones AS (
+                INSERT INTO task_tombstones (task_id, user_id)
+                SELECT id, user_id FROM deleted
+            )
+            SELECT id FROM deleted""", nativeQuery = true)
+    List<UUID> deleteAllByIdAndUserId(@Param("ids") List<UUID> ids, @Param("userId") UUID userId);
+
+    // Live tasks and tombstones of the user in change order. Per user the sequence commits in order
+    // because every mutation first locks the user row (users.task_version), so a cursor never skips a change.
+    @Query(value = """
+            SELECT id, title, description, due_date AS "dueDate", completed, false AS deleted, change_seq AS "changeSeq"
+            FROM tasks
+            WHERE user_id = :userId AND change_seq > :since
+            UNION ALL
+            SELECT task_id, NULL, NULL, NULL, NULL, true, change_seq
+            FROM task_tombstones
+            WHERE user_id = :userId AND change_seq > :since
+            ORDER BY "changeSeq"
+            LIMIT :limit""", nativeQuery = true)
+    List<TaskChange> findChangesSince(@Param("userId") UUID userId, @Param("since") long since, @Param("limit") int limit);
+
+    // Where the changes feed of the user stands now; both maxima are read from the (user_id, change_seq) indexes.
+    @Query(value = """
+            SELECT GREATEST(
+                COALESCE((SELECT max(change_seq) FROM tasks WHERE user_id = :userId), 0),
+                COALESCE((SELECT max(change_seq) FROM task_tombstones WHERE user_id = :userId), 0))""", nativeQuery = true)
+    long findLatestChangeSeq(@Param("userId") UUID userId);
+
+    // Highest change_seq whose tombstone may have been purged (V15), 0 until the first purge.
+    @Query(value = "SELECT purged_through FROM task_changes_horizon", nativeQuery = true)
+    long findChangesHorizon();
+
+    // One batch of the tombstone purge, in its own transaction: drops up to :limit tombstones older than :days
+    // and moves the horizon past them in the same statement. Returns how many were dropped.
+    @Transactional
+    @Query(value = """
+            WITH purged AS (
+                DELETE FROM task_tombstones
+                WHERE task_id IN (
+                    SELECT task_id FROM task_tombstones
+                    WHERE deleted_at < now() - CAST(:days AS INTEGER) * INTERVAL '1 day'
+                    ORDER BY deleted_at
+                    LIMIT :limit)
+                RETURNING change_seq
+            ), horizon AS (
+                UPDATE task_changes_horizon SET purged_through = GREATEST(purged_through, (SELECT max(change_seq) FROM purged))
+                WHERE EXISTS (SELECT 1 FROM purged)
+            )
+            SELECT count(*) FROM purged""", nativeQuery = true)
+    long purgeTombstones(@Param("days") int days, @Param("limit") int limit);
+
+    // Counters kept by the tasks triggers (V14): a primary key read and at most one small range, whatever the
+    // number of tasks. The overdue count is as of the stats_date of the row; the open tasks due between that
+    // day and today are added (or taken back) here until the row is moved forward.
+    @Query(value = """
+            SELECT s.open_count AS "open", s.completed_count AS "completed",
+                   s.overdue_count + COALESCE((
+                       SELECT CAST(sum(CASE WHEN d.due_date < :today THEN d.open_count ELSE -d.open_count END) AS BIGINT)
+                       FROM task_open_due_dates d
+                       WHERE d.user_id = s.user_id
+                         AND d.due_date >= LEAST(s.stats_date, :today) AND d.due_date < GREATEST(s.stats_date, :today)), 0) AS "overdue",
+                   COALESCE((
+                       SELECT d.open_count FROM task_open_due_dates d
+                       WHERE d.user_id = s.user_id AND d.due_date = :today), 0) AS "dueToday"
+            FROM task_stats s
+            WHERE s.user_id = :userId""", nativeQuery = true)
+    TaskStats findStats(@Param("userId") UUID userId, @Param("today") LocalDate today);
+
+    // One batch of the counters reconciliation, in its own transaction; see task_stats_reconcile.
+    @Transactional
+    @Query(value = """
+            SELECT last_user_id AS "lastUserId", repaired, locked
+            FROM task_stats_reconcile(:after, :limit)""", nativeQuery = true)
+    TaskStatsReconcile reconcileStats(@Param("after") UUID after, @Param("limit") int limit);
+
+    interface TaskChange {
+        UUID getId();
+        String getTitle();
+        String getDescription();
+        LocalDate getDueDate();
+        Boolean getCompleted();
+        boolean getDeleted();
+        long getChangeSeq();
+    }
+
+    interface TaskStats {
+        long getOpen();
+        long getCompleted();
+        long getOverdue();
+        long getDueToday();
+    }
+
+    interface TaskStatsReconcile {
+        UUID getLastUserId();
+        int getRepaired();
+        boolean getLocked();
+    }
 }
@@ -2,10 +2,23 @@ package com.samanthamaiaduarte.todoapi.repository;
 
 import com.samanthamaiaduarte.todoapi.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     UserDetails findByLogin(String login);
+
+    // task_version is only touched through these queries, it isn't mapped on User.
+    @Query(value = "SELECT task_version FROM users WHERE id = :id", nativeQuery = true)
+    Long findTaskVersionById(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET task_version = task_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementTaskVersion(@Param("id") UUID id);
 }
@@ -3,6 +3,7 @@ package com.samanthamaiaduarte.todoapi.service;
 import com.samanthamaiaduarte.todoapi.domain.user.*;
 import com.samanthamaiaduarte.todoapi.exception.UserAlreadyExistsException;
 import com.samanthamaiaduarte.todoapi.exception.UserNotFoundException;
+import com.samanthamaiaduarte.todoapi.infra.security.PasswordHashingExecutor;
 import com.samanthamaiaduarte.todoapi.infra.security.TokenService;
 import com.samanthamaiaduarte.todoapi.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,7 +11,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -21,23 +22,33 @@ public class AuthenticationService {
     private TokenService tokenService;
     @Autowired
     private UserRepository repository;
-
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     public LoginResponseDTO login(String username, String password) {
         try {
             var usernamePassword = new UsernamePasswordAuthenticationToken(username, password);
-            var auth = authenticationManager.authenticate(usernamePassword);
+            var auth = passwordHashingExecutor.execute("verify", () -> authenticationManager.authenticate(usernamePassword));
 
-            return tokenService.generateToken((User) auth.getPrincipal());
+            User user = (User) auth.getPrincipal();
+            return tokenService.generateToken(user).withRefreshToken(refreshTokenService.issue(user));
         } catch (InternalAuthenticationServiceException | BadCredentialsException exception) {
             throw new UserNotFoundException();
         }
     }
 
+    public LoginResponseDTO refresh(String refreshToken) {
+        return refreshTokenService.rotate(refreshToken);
+    }
+
     public void register(RegisterDTO data, UserRole role) {
         if(repository.findByLogin(data.login()) != null) throw new UserAlreadyExistsException();
 
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.password());
+        String encryptedPassword = passwordHashingExecutor.execute("encode", () -> passwordEncoder.encode(data.password()));
         User newUser = new  User(data.login(), encryptedPassword, role);
 
         repository.save(newUser);
@@ -0,0 +1,71 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.domain.user.LoginResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.RefreshToken;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.exception.RefreshTokenInvalidException;
+import com.samanthamaiaduarte.todoapi.infra.security.TokenDigest;
+import com.samanthamaiaduarte.todoapi.infra.security.TokenService;
+import com.samanthamaiaduarte.todoapi.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+    private static final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository repository;
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${api.security.refresh-token.expiration-days:30}")
+    private long expirationDays;
+
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    // Revocations must survive the exception thrown to the caller, hence no rollback for it.
+    @Transactional(noRollbackFor = RefreshTokenInvalidException.class)
+    public LoginResponseDTO rotate(String refreshToken) {
+        RefreshToken current = repository.findByTokenHash(TokenDigest.sha256(refreshToken));
+
+        if(current == null) throw new RefreshTokenInvalidException();
+
+        if(current.getRevoked() || current.getUsedAt() != null) {
+            repository.revokeFamily(current.getFamilyId());
+            throw new RefreshTokenInvalidException("Refresh token reuse detected. Login again.");
+        }
+
+        if(!current.getExpiresAt().isAfter(Instant.now())) throw new RefreshTokenInvalidException("Refresh token has expired.");
+
+        // Two concurrent refreshes with the same token: only one can flip used_at, the other is a reuse.
+        if(repository.markUsed(current.getId(), Instant.now()) == 0) {
+            repository.revokeFamily(current.getFamilyId());
+            throw new RefreshTokenInvalidException("Refresh token reuse detected. Login again.");
+        }
+
+        User user = current.getUser();
+        return tokenService.generateToken(user).withRefreshToken(issue(user, current.getFamilyId()));
+    }
+
+    private String issue(User user, UUID familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant expiresAt = Instant.now().plus(Duration.ofDays(expirationDays));
+        repository.save(new RefreshToken(null, TokenDigest.sha256(refreshToken), familyId, expiresAt, null, false, user));
+
+        return refreshToken;
+    }
+}
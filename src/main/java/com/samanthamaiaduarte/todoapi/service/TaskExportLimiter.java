@@ -0,0 +1,50 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps how many exports run at once. An export keeps a pooled database connection for as long as the
+ * client takes to download it, so without a cap a few slow downloads could hold the whole pool and
+ * starve every other request. Past the cap an export is rejected right away with a {@link ServiceBusyException}.
+ */
+@Component
+public class TaskExportLimiter {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.tasks.export.max-concurrent:2}")
+    private int maxConcurrent;
+    @Value("${api.tasks.export.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    private Semaphore permits;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrent);
+
+        Gauge.builder("tasks.export.active", permits, semaphore -> maxConcurrent - semaphore.availablePermits()).register(meterRegistry);
+        rejected = Counter.builder("tasks.export.rejected").register(meterRegistry);
+    }
+
+    public void acquire() {
+        if(permits.tryAcquire()) return;
+
+        rejected.increment();
+        throw new ServiceBusyException("Too many exports running, try again later.", retryAfterSeconds);
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
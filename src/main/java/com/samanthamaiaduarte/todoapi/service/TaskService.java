@@ -1,69 +1,334 @@
 package com.samanthamaiaduarte.todoapi.service;
 
 import com.samanthamaiaduarte.todoapi.domain.task.Task;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskBulkResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangeDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangedEvent;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangesDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskCursor;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDuePageDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskPageDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskRequestDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskStatsDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
 import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.exception.TaskChangesExpiredException;
+import com.samanthamaiaduarte.todoapi.exception.TaskCursorInvalidException;
+import com.samanthamaiaduarte.todoapi.exception.TaskDueRangeInvalidException;
 import com.samanthamaiaduarte.todoapi.exception.TaskForbiddenException;
 import com.samanthamaiaduarte.todoapi.exception.TaskNotFoundException;
+import com.samanthamaiaduarte.todoapi.infra.cache.TaskCache;
 import com.samanthamaiaduarte.todoapi.infra.mapper.TaskMapper;
 import com.samanthamaiaduarte.todoapi.repository.TaskRepository;
+import com.samanthamaiaduarte.todoapi.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+// One tasks.service timer per method (class and method tags), also covering cache hits that never reach the repository.
+@Timed(value = "tasks.service", description = "TaskService calls")
 @Service
 public class TaskService {
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_CHANGES = 500;
+    public static final int MAX_DUE_SOON_DAYS = 365;
 
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
+    private UserRepository userRepository;
+    @Autowired
     private TaskMapper taskMapper;
+    @Autowired
+    private TaskCache taskCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional
+    public TaskResponseDTO createTask(TaskRequestDTO data, AuthenticatedUser user) {
+        changed(user);
 
-    public TaskResponseDTO createTask(TaskRequestDTO data, User user) {
-        Task task = taskMapper.toEntity(data, user);
+        User owner = userRepository.getReferenceById(user.id());
+        Task task = taskMapper.toEntity(data, owner);
         taskRepository.save(task);
         return taskMapper.toDto(task);
     }
 
-    public TaskResponseDTO updateTask(UUID taskId, TaskRequestDTO data, User user) {
-        Task task = taskRepository.findById(taskId).orElseThrow(TaskNotFoundException::new);
+    // Ids are generated by Hibernate before the insert, so the rows go out as JDBC batches on commit
+    // (hibernate.jdbc.batch_size) instead of one round trip per task.
+    @Transactional
+    public List<TaskResponseDTO> createTasks(List<TaskRequestDTO> data, AuthenticatedUser user) {
+        changed(user);
 
-        if(task.getUser().getId() != user.getId()) throw new TaskForbiddenException();
+        User owner = userRepository.getReferenceById(user.id());
+        List<Task> tasks = data.stream().map(item -> taskMapper.toEntity(item, owner)).toList();
+
+        taskRepository.saveAll(tasks);
+        return taskMapper.toDtoList(tasks);
+    }
+
+    @Transactional
+    public TaskResponseDTO updateTask(UUID taskId, TaskRequestDTO data, AuthenticatedUser user) {
+        changed(user);
+
+        Task task = taskRepository.updateByIdAndUserId(taskId, user.id(), data.title(), data.description(), data.dueDate())
+                .orElseThrow(() -> notUpdated(taskId));
 
-        taskMapper.updateTaskFromDto(data, task);
-        taskRepository.save(task);
         return taskMapper.toDto(task);
     }
 
-    public void deleteTask(UUID taskId, User user) {
-        Task task = taskRepository.findByIdAndUserId(taskId, user.getId());
+    @Transactional
+    public void deleteTask(UUID taskId, AuthenticatedUser user) {
+        changed(user);
+        if(taskRepository.deleteAllByIdAndUserId(List.of(taskId), user.id()).isEmpty()) throw new TaskNotFoundException();
+    }
 
-        if(task == null) throw new TaskNotFoundException();
-        taskRepository.delete(task);
+    @Transactional
+    public void completedTask(UUID taskId, AuthenticatedUser user) {
+        changed(user);
+        if(taskRepository.completeByIdAndUserId(taskId, user.id()) == 0) throw new TaskNotFoundException();
     }
 
-    public void completedTask(UUID taskId, User user) {
-        Task task = taskRepository.findByIdAndUserId(taskId, user.getId());
-        if(task == null) throw new TaskNotFoundException();
+    @Transactional
+    public TaskBulkResponseDTO deleteTasks(List<UUID> taskIds, AuthenticatedUser user) {
+        changed(user);
+        return bulkResult(taskIds, taskRepository.deleteAllByIdAndUserId(taskIds, user.id()));
+    }
 
-        task.setCompleted(true);
-        taskRepository.save(task);
+    @Transactional
+    public TaskBulkResponseDTO completedTasks(List<UUID> taskIds, AuthenticatedUser user) {
+        changed(user);
+        return bulkResult(taskIds, taskRepository.completeAllByIdAndUserId(taskIds, user.id()));
+    }
+
+    // Version of the whole task set of the user, bumped by every mutation above (a failed one rolls it back).
+    public long selectTasksVersion(AuthenticatedUser user) {
+        TaskCache.Key key = taskCache.key(user.id(), "tasksVersion");
+        Long version = taskCache.get(key, Long.class);
+        if(version != null) return version;
+
+        version = userRepository.findTaskVersionById(user.id());
+        if(version == null) version = 0L;
+
+        taskCache.put(key, version);
+        return version;
+    }
+
+    public long selectTaskVersion(UUID taskId, AuthenticatedUser user) {
+        TaskCache.Key key = taskCache.key(user.id(), "taskVersion", taskId);
+        Long version = taskCache.get(key, Long.class);
+        if(version != null) return version;
+
+        version = taskRepository.findVersionByIdAndUserId(taskId, user.id());
+        if(version == null) throw new TaskNotFoundException();
+
+        taskCache.put(key, version);
+        return version;
     }
 
-    public TaskResponseDTO selectTask(UUID taskId, User user) {
-        Task task = taskRepository.findByIdAndUserId(taskId, user.getId());
+    public TaskResponseDTO selectTask(UUID taskId, AuthenticatedUser user) {
+        TaskCache.Key key = taskCache.key(user.id(), "task", taskId);
+        TaskResponseDTO task = taskCache.get(key, TaskResponseDTO.class);
+        if(task != null) return task;
 
+        task = taskRepository.findDtoByIdAndUserId(taskId, user.id());
         if(task == null) throw new TaskNotFoundException();
-        return taskMapper.toDto(task);
+
+        taskCache.put(key, task);
+        return task;
+    }
+
+    public TaskPageDTO selectTasks(AuthenticatedUser user, Boolean completed, String cursor, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+
+        TaskCache.Key key = taskCache.key(user.id(), "page", completed, after, pageSize);
+        TaskPageDTO cached = taskCache.get(key, TaskPageDTO.class);
+        if(cached != null) return cached;
+
+        List<TaskResponseDTO> tasks = after == null
+                ? taskRepository.findPage(user.id(), completed, Limit.of(pageSize + 1))
+                : taskRepository.findPageAfter(user.id(), completed, after.dueDate(), after.id(), Limit.of(pageSize + 1));
+
+        TaskPageDTO taskPage = page(tasks, pageSize, TaskCursor::of, TaskPageDTO::new);
+
+        taskCache.put(key, taskPage);
+        return taskPage;
+    }
+
+    // Same pages as selectTasks, limited to the tasks due between from and to (both included).
+    // A cursor before from comes from another range and is rejected rather than read past the bound.
+    public TaskPageDTO selectDueTasks(AuthenticatedUser user, Boolean completed, LocalDate from, LocalDate to, String cursor, int limit) {
+        if(from.isAfter(to)) throw new TaskDueRangeInvalidException();
+
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+        if(after != null && after.dueDate().isBefore(from)) throw new TaskCursorInvalidException();
+
+        TaskCache.Key key = taskCache.key(user.id(), "due", completed, from, to, after, pageSize);
+        TaskPageDTO cached = taskCache.get(key, TaskPageDTO.class);
+        if(cached != null) return cached;
+
+        List<TaskResponseDTO> tasks = after == null
+                ? taskRepository.findDuePage(user.id(), completed, from, to, Limit.of(pageSize + 1))
+                : taskRepository.findDuePageAfter(user.id(), completed, to, after.dueDate(), after.id(), Limit.of(pageSize + 1));
+
+        TaskPageDTO taskPage = page(tasks, pageSize, TaskCursor::of, TaskPageDTO::new);
+
+        taskCache.put(key, taskPage);
+        return taskPage;
+    }
+
+    // Open tasks due before today. Today is part of the cache key: the same tasks become overdue as days pass
+    // without any mutation evicting them.
+    public TaskDuePageDTO selectOverdueTasks(AuthenticatedUser user, String cursor, int limit) {
+        return selectOpenDueTasks(user, "overdue", null, LocalDate.now().minusDays(1), cursor, limit);
+    }
+
+    // Open tasks due from today up to days ahead, today included.
+    public TaskDuePageDTO selectDueSoonTasks(AuthenticatedUser user, int days, String cursor, int limit) {
+        if(days < 0 || days > MAX_DUE_SOON_DAYS) throw new TaskDueRangeInvalidException("Days must be between 0 and " + MAX_DUE_SOON_DAYS + ".");
+
+        LocalDate today = LocalDate.now();
+        return selectOpenDueTasks(user, "dueSoon", today, today.plusDays(days), cursor, limit);
+    }
+
+    private TaskDuePageDTO selectOpenDueTasks(AuthenticatedUser user, String view, LocalDate from, LocalDate to, String cursor, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+        if(after != null && (after.dueDate().isAfter(to) || (from != null && after.dueDate().isBefore(from)))) throw new TaskCursorInvalidException();
+
+        TaskCache.Key key = taskCache.key(user.id(), view, from, to, after, pageSize);
+        TaskDuePageDTO cached = taskCache.get(key, TaskDuePageDTO.class);
+        if(cached != null) return cached;
+
+        List<TaskDueDTO> tasks;
+        if(after != null) tasks = taskRepository.findOpenDueAfter(user.id(), to, after.dueDate(), after.id(), Limit.of(pageSize + 1));
+        else if(from != null) tasks = taskRepository.findOpenDueBetween(user.id(), from, to, Limit.of(pageSize + 1));
+        else tasks = taskRepository.findOpenDueUntil(user.id(), to, Limit.of(pageSize + 1));
+
+        TaskDuePageDTO taskPage = page(tasks, pageSize, TaskCursor::of, TaskDuePageDTO::new);
+
+        taskCache.put(key, taskPage);
+        return taskPage;
+    }
+
+    // Read from the counters the tasks triggers keep, so it costs the same for ten tasks as for a million.
+    // A user who never had a task has no counters yet. Today is part of the cache key, as in the overdue view.
+    public TaskStatsDTO selectTaskStats(AuthenticatedUser user) {
+        LocalDate today = LocalDate.now();
+        TaskCache.Key key = taskCache.key(user.id(), "stats", today);
+        TaskStatsDTO stats = taskCache.get(key, TaskStatsDTO.class);
+        if(stats != null) return stats;
+
+        TaskRepository.TaskStats row = taskRepository.findStats(user.id(), today);
+        stats = row == null
+                ? new TaskStatsDTO(0, 0, 0, 0)
+                : new TaskStatsDTO(row.getOpen(), row.getCompleted(), row.getOverdue(), row.getDueToday());
+
+        taskCache.put(key, stats);
+        return stats;
+    }
+
+    // One JSON object per line, written as the rows arrive from the cursor: nothing holds more than one task,
+    // so memory stays flat whatever the size of the account. Not cached, it would defeat the point.
+    @Transactional(readOnly = true)
+    public void exportTasks(AuthenticatedUser user, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponseDTO.class);
+
+        try(Stream<TaskResponseDTO> tasks = taskRepository.streamAllByUserId(user.id())) {
+            Iterator<TaskResponseDTO> iterator = tasks.iterator();
+            while(iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+            }
+        }
+        outputStream.flush();
     }
 
-    public List<TaskResponseDTO> selectTasks(User user, Boolean completed) {
-        List<Task> tasks = taskRepository.findAllByUserIdAndCompleted(user.getId(), completed);
+    // The cursor is the change_seq of the last change returned; a client without one starts from 0 and gets everything.
+    public TaskChangesDTO selectChanges(AuthenticatedUser user, String since) {
+        long after = parseChangeCursor(since);
 
+        List<TaskRepository.TaskChange> rows = taskRepository.findChangesSince(user.id(), after, MAX_CHANGES + 1);
+        // Read after the changes: a purge that removed one of them has moved the horizon by then.
+        if(after > 0 && after < taskRepository.findChangesHorizon()) throw new TaskChangesExpiredException();
+        boolean hasMore = rows.size() > MAX_CHANGES;
+        List<TaskRepository.TaskChange> page = hasMore ? rows.subList(0, MAX_CHANGES) : rows;
+
+        List<TaskChangeDTO> changes = page.stream().map(TaskService::toChangeDTO).toList();
+        long cursor = page.isEmpty() ? after : page.getLast().getChangeSeq();
+
+        return new TaskChangesDTO(changes, String.valueOf(cursor), hasMore);
+    }
+
+    static TaskChangeDTO toChangeDTO(TaskRepository.TaskChange row) {
+        return new TaskChangeDTO(row.getId(), row.getTitle(), row.getDescription(), row.getDueDate(), row.getCompleted(), row.getDeleted());
+    }
+
+    private static long parseChangeCursor(String since) {
+        if(since == null || since.isBlank()) return 0;
+
+        try {
+            long cursor = Long.parseLong(since);
+            if(cursor < 0) throw new TaskCursorInvalidException();
+            return cursor;
+        }
+        catch (NumberFormatException exception) {
+            throw new TaskCursorInvalidException();
+        }
+    }
+
+    // Locks the user row first, which orders the change_seq commits of the user. The cache eviction and the
+    // event both take effect after commit, so a rolled back mutation neither evicts nor wakes the streams.
+    private void changed(AuthenticatedUser user) {
+        userRepository.incrementTaskVersion(user.id());
+        taskCache.evictUser(user.id());
+        eventPublisher.publishEvent(new TaskChangedEvent(user.id()));
+    }
+
+    // Pages are read with one extra row, which tells whether another page exists without a count query.
+    // The same for every row type: the cursor is taken from the last row kept.
+    private static <T, P> P page(List<T> tasks, int pageSize, Function<T, TaskCursor> cursorOf, BiFunction<List<T>, String, P> pageOf) {
         if(tasks.isEmpty()) throw new TaskNotFoundException();
-        return taskMapper.toDtoList(tasks);
+
+        boolean hasNext = tasks.size() > pageSize;
+        List<T> page = hasNext ? tasks.subList(0, pageSize) : tasks;
+
+        return pageOf.apply(List.copyOf(page), hasNext ? cursorOf.apply(page.getLast()).encode() : null);
+    }
+
+    // Ids of other users are reported as not found, the same answer the single-task endpoints give.
+    private TaskBulkResponseDTO bulkResult(List<UUID> taskIds, List<UUID> affected) {
+        Set<UUID> found = new HashSet<>(affected);
+        List<UUID> notFound = taskIds.stream().distinct().filter(id -> !found.contains(id)).toList();
+
+        return new TaskBulkResponseDTO(affected, notFound);
+    }
+
+    // Only reached when nothing was updated, so the happy path stays a single statement.
+    private RuntimeException notUpdated(UUID taskId) {
+        return taskRepository.existsById(taskId) ? new TaskForbiddenException() : new TaskNotFoundException();
     }
 }
@@ -0,0 +1,68 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Repairs the task counters behind the stats endpoint.
+ * <p>
+ * The counters are kept by triggers in the same transaction as every task write, so they only drift through
+ * something outside them (a manual fix in the database, a trigger disabled for a restore). Once a night every
+ * user's counters are recomputed from their tasks, a batch of users per transaction, which also moves the
+ * overdue counts of users who wrote nothing since the day changed. Running it on every node is harmless: each
+ * batch takes an advisory lock, and a node that finds it taken leaves the run to the one holding it.
+ * <p>
+ * Repaired counters may still be served from the task cache until its entries expire.
+ */
+@Service
+public class TaskStatsReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatsReconciler.class);
+    private static final UUID FIRST = new UUID(0, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.tasks.stats.reconcile-batch-size:500}")
+    private int batchSize;
+
+    private Counter repaired;
+
+    @PostConstruct
+    void registerMetrics() {
+        repaired = Counter.builder("tasks.stats.repaired")
+                .description("Users whose task counters had drifted and were recomputed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${api.tasks.stats.reconcile-cron:0 30 0 * * *}")
+    void reconcile() {
+        UUID after = FIRST;
+        long total = 0;
+
+        while(after != null) {
+            TaskRepository.TaskStatsReconcile batch = taskRepository.reconcileStats(after, batchSize);
+            if(!batch.getLocked()) {
+                logger.info("Task stats reconciliation already running elsewhere, skipping");
+                return;
+            }
+
+            repaired.increment(batch.getRepaired());
+            total += batch.getRepaired();
+            after = batch.getLastUserId();
+        }
+
+        if(total > 0) logger.warn("Task stats reconciliation repaired the counters of {} users", total);
+    }
+}
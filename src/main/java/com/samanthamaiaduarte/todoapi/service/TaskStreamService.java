@@ -0,0 +1,254 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangedEvent;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.exception.TaskChangesExpiredException;
+import com.samanthamaiaduarte.todoapi.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+/**
+ * Pushes the task changes of a user to their open Server-Sent Events streams.
+ * <p>
+ * Streams are async requests, so an idle one holds no thread, only its emitter and an empty buffer.
+ * When a mutation of the user commits, each of their streams reads the changes feed from the last
+ * change it buffered: the feed is the only source of events, and a client reconnecting with
+ * Last-Event-ID (the change_seq of the last change it got) resumes without missing one.
+ * <p>
+ * Reading and sending run on virtual threads, at most one of each per stream. A stream buffers at most
+ * {@code buffer-size} events; a client that doesn't drain them is disconnected and catches up from
+ * the feed when it reconnects, so a slow client never holds more memory than that.
+ */
+@Service
+public class TaskStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskStreamService.class);
+    private static final String TASK_EVENT = "task";
+    private static final String READY_EVENT = "ready";
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.tasks.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    @Value("${api.tasks.stream.buffer-size:256}")
+    private int bufferSize;
+
+    // Replaced in tests with emitters that record or hold back what is sent.
+    private LongFunction<SseEmitter> emitters = SseEmitter::new;
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Counter dropped;
+
+    private static final class Subscriber {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean stale = new AtomicBoolean();
+        private final AtomicBoolean reading = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // change_seq of the last change buffered, only moved by the reader holding the reading flag.
+        private volatile long cursor;
+
+        private Subscriber(UUID userId, SseEmitter emitter, int bufferSize, long cursor) {
+            this.userId = userId;
+            this.emitter = emitter;
+            // Linked so an idle stream doesn't allocate its whole capacity up front.
+            this.buffer = new LinkedBlockingQueue<>(bufferSize);
+            this.cursor = cursor;
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("tasks.stream.connections", connections, AtomicInteger::get)
+                .description("Open task event streams")
+                .register(meterRegistry);
+        dropped = Counter.builder("tasks.stream.dropped")
+                .description("Task event streams closed because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.emitter.complete()));
+        executor.shutdownNow();
+    }
+
+    public SseEmitter subscribe(AuthenticatedUser user, String lastEventId) {
+        Long resumeFrom = parseLastEventId(lastEventId);
+        if(resumeFrom != null && resumeFrom > 0 && resumeFrom < taskRepository.findChangesHorizon()) throw new TaskChangesExpiredException();
+        long cursor = resumeFrom != null ? resumeFrom : taskRepository.findLatestChangeSeq(user.id());
+
+        Subscriber subscriber = new Subscriber(user.id(), emitters.apply(timeoutMs), bufferSize, cursor);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        subscribers.compute(user.id(), (id, streams) -> {
+            if(streams == null) streams = ConcurrentHashMap.newKeySet();
+            streams.add(subscriber);
+            return streams;
+        });
+        connections.incrementAndGet();
+
+        // Tells a new client where it starts, so it can resume even if nothing changes before it disconnects.
+        enqueue(subscriber, SseEmitter.event().name(READY_EVENT).id(String.valueOf(cursor)).data(cursor));
+        // Replays what a resuming client missed, and whatever committed between reading the cursor and registering.
+        signal(subscriber);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if(event.isAnyUser()) {
+            subscribers.values().forEach(streams -> streams.forEach(this::signal));
+            return;
+        }
+
+        Set<Subscriber> streams = subscribers.get(event.userId());
+        if(streams != null) streams.forEach(this::signal);
+    }
+
+    // Also how a vanished client is noticed: writing the comment fails and the stream is closed.
+    @Scheduled(fixedDelayString = "${api.tasks.stream.heartbeat-ms:15000}")
+    void heartbeat() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    // Signals arriving while the stream is already reading only mark it stale, so a burst of commits costs one more query.
+    private void signal(Subscriber subscriber) {
+        subscriber.stale.set(true);
+        if(subscriber.reading.compareAndSet(false, true)) executor.execute(() -> read(subscriber));
+    }
+
+    private void read(Subscriber subscriber) {
+        try {
+            while(subscriber.stale.getAndSet(false) && !subscriber.closed.get()) readChanges(subscriber);
+        }
+        catch (RuntimeException exception) {
+            logger.error("Could not read task changes for a stream, closing it: {}", exception.getMessage());
+            close(subscriber);
+        }
+        finally {
+            subscriber.reading.set(false);
+        }
+
+        // A signal that came after the loop but before the flag was cleared didn't start a reader.
+        if(subscriber.stale.get() && !subscriber.closed.get()) signal(subscriber);
+    }
+
+    private void readChanges(Subscriber subscriber) {
+        List<TaskRepository.TaskChange> rows;
+        do {
+            rows = taskRepository.findChangesSince(subscriber.userId, subscriber.cursor, TaskService.MAX_CHANGES);
+            for(TaskRepository.TaskChange row : rows) {
+                SseEmitter.SseEventBuilder event = SseEmitter.event()
+                        .name(TASK_EVENT)
+                        .id(String.valueOf(row.getChangeSeq()))
+                        .data(TaskService.toChangeDTO(row), MediaType.APPLICATION_JSON);
+
+                if(!enqueue(subscriber, event)) return;
+                subscriber.cursor = row.getChangeSeq();
+            }
+        } while(rows.size() == TaskService.MAX_CHANGES);
+    }
+
+    private boolean enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if(subscriber.closed.get()) return false;
+
+        if(!subscriber.buffer.offer(event)) {
+            dropped.increment();
+            close(subscriber);
+            return false;
+        }
+
+        send(subscriber);
+        return true;
+    }
+
+    private void send(Subscriber subscriber) {
+        if(subscriber.sending.compareAndSet(false, true)) executor.execute(() -> write(subscriber));
+    }
+
+    // Blocks on a slow client; that only parks a virtual thread while the buffer fills up behind it.
+    private void write(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while(!subscriber.closed.get() && (event = subscriber.buffer.poll()) != null) subscriber.emitter.send(event);
+        }
+        catch (IOException | IllegalStateException exception) {
+            // The client is gone; the container completes the emitter on its own.
+            remove(subscriber);
+        }
+        finally {
+            subscriber.sending.set(false);
+        }
+
+        if(!subscriber.buffer.isEmpty() && !subscriber.closed.get()) send(subscriber);
+    }
+
+    private void close(Subscriber subscriber) {
+        if(remove(subscriber)) subscriber.emitter.complete();
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if(!subscriber.closed.compareAndSet(false, true)) return false;
+
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+        subscriber.buffer.clear();
+        return true;
+    }
+
+    // Browsers send back whatever id they got last; anything unusable starts the stream from now.
+    private static Long parseLastEventId(String lastEventId) {
+        if(lastEventId == null || lastEventId.isBlank()) return null;
+
+        try {
+            long cursor = Long.parseLong(lastEventId.trim());
+            return cursor < 0 ? null : cursor;
+        }
+        catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drops the tombstones of deleted tasks once they are older than the retention, so the table behind the
+ * changes feed doesn't grow with every delete ever made.
+ * <p>
+ * Each batch deletes in its own short transaction and moves the changes horizon past what it dropped; a
+ * client whose cursor is below the horizon gets 410 and syncs again from scratch. Running it on every node
+ * is harmless: the batches of two nodes just skip the rows the other already deleted.
+ */
+@Service
+public class TombstonePurger {
+    private static final Logger logger = LoggerFactory.getLogger(TombstonePurger.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.tasks.changes.tombstone-retention-days:30}")
+    private int retentionDays;
+    @Value("${api.tasks.changes.purge-batch-size:1000}")
+    private int batchSize;
+
+    private Counter purged;
+
+    @PostConstruct
+    void registerMetrics() {
+        purged = Counter.builder("tasks.tombstones.purged")
+                .description("Tombstones of deleted tasks dropped after the retention")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${api.tasks.changes.purge-cron:0 0 1 * * *}")
+    void purge() {
+        long total = 0;
+        long batch;
+
+        do {
+            batch = taskRepository.purgeTombstones(retentionDays, batchSize);
+            purged.increment(batch);
+            total += batch;
+        } while(batch == batchSize);
+
+        if(total > 0) logger.info("Purged {} task tombstones older than {} days", total, retentionDays);
+    }
+}
@@ -0,0 +1,31 @@
+-- Runs outside a transaction (see the .conf file): every batch commits on its own, so row locks are held
+-- for one batch only and vacuum can reclaim the old row versions while the backfill goes on.
+DO $$
+DECLARE
+    last_id UUID := '00000000-0000-0000-0000-000000000000';
+    batch_last_id UUID;
+BEGIN
+    LOOP
+        -- There is no max() for UUID: the last key of the batch is the highest of its first 10000 ids.
+        SELECT id INTO batch_last_id
+        FROM (SELECT id FROM tasks WHERE id > last_id ORDER BY id LIMIT 10000) batch
+        ORDER BY id DESC
+        LIMIT 1;
+
+        EXIT WHEN batch_last_id IS NULL;
+
+        UPDATE tasks SET due_day = due_date::date
+        WHERE id > last_id AND id <= batch_last_id AND due_day IS NULL;
+
+        last_id := batch_last_id;
+        COMMIT;
+    END LOOP;
+END;
+$$;
+
+-- Validating a NOT VALID check only takes a SHARE UPDATE EXCLUSIVE lock, and lets the swap set NOT NULL without a scan.
+ALTER TABLE tasks ADD CONSTRAINT tasks_due_day_not_null CHECK (due_day IS NOT NULL) NOT VALID;
+ALTER TABLE tasks VALIDATE CONSTRAINT tasks_due_day_not_null;
+
+-- Built without blocking writes. A build that fails leaves an invalid index: drop it before retrying.
+CREATE INDEX CONCURRENTLY idx_tasks_user_completed_due_day ON tasks (user_id, completed, due_day, id);
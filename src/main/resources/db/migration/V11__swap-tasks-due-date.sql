@@ -0,0 +1,16 @@
+-- Only catalog changes from here on, so the exclusive lock is held for milliseconds. Waiting for it behind a
+-- long-running query would queue every reader and writer behind the migration: give up instead and retry.
+-- SET LOCAL ends with the migration's transaction.
+SET LOCAL lock_timeout = '5s';
+LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE tasks ALTER COLUMN due_day SET NOT NULL;
+ALTER TABLE tasks DROP CONSTRAINT tasks_due_day_not_null;
+
+DROP TRIGGER tasks_sync_due_day ON tasks;
+DROP FUNCTION tasks_sync_due_day();
+
+-- Also drops idx_tasks_user_completed_due_date, replaced by the index built on due_day.
+ALTER TABLE tasks DROP COLUMN due_date;
+ALTER TABLE tasks RENAME COLUMN due_day TO due_date;
+ALTER INDEX idx_tasks_user_completed_due_day RENAME TO idx_tasks_user_completed_due_date;
@@ -0,0 +1,17 @@
+-- The application assigns version 7 ids itself; rows inserted by SQL alone (scripts, seeding) get them
+-- too, so the keys of both tables stay time-ordered whoever writes them. Ordered across sessions only to
+-- the millisecond, which is all the index needs.
+CREATE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,3 @@
+-- Open tasks only, for the overdue and due-soon views: a fraction of the size of the full index on large
+-- accounts, and title is included so those views are answered from the index alone.
+CREATE INDEX CONCURRENTLY idx_tasks_user_open_due_date ON tasks (user_id, due_date, id) INCLUDE (title) WHERE completed = false;
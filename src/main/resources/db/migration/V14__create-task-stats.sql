@@ -0,0 +1,213 @@
+-- Per-user task counters behind GET /tasks/stats, kept by triggers on tasks so every write path (the bulk
+-- native statements, COPY) is counted in the same transaction as the change itself.
+-- No foreign keys on users: the triggers write here while a user delete cascades to tasks. Rows left by a
+-- deleted user are dropped by the reconciliation job.
+CREATE TABLE task_stats (
+    user_id UUID PRIMARY KEY,
+    open_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    -- Open tasks due before stats_date: counted as of that day, moved forward by task_stats_roll.
+    overdue_count BIGINT NOT NULL DEFAULT 0,
+    stats_date DATE NOT NULL
+);
+
+-- Open tasks per user and due date. Gives the tasks due on a day with one lookup, and what became overdue
+-- between two days with a range of at most that many rows.
+CREATE TABLE task_open_due_dates (
+    user_id UUID NOT NULL,
+    due_date DATE NOT NULL,
+    open_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, due_date)
+);
+
+-- Moves the overdue counts of the users forward to p_day, adding the open tasks due from their stats_date
+-- up to the day before. Returns the number of users moved.
+CREATE FUNCTION task_stats_roll(p_user_ids UUID[], p_day DATE) RETURNS INTEGER AS $$
+DECLARE
+    rolled INTEGER;
+BEGIN
+    UPDATE task_stats s
+    SET overdue_count = s.overdue_count + COALESCE((
+            SELECT sum(d.open_count) FROM task_open_due_dates d
+            WHERE d.user_id = s.user_id AND d.due_date >= s.stats_date AND d.due_date < p_day), 0),
+        stats_date = p_day
+    WHERE s.user_id = ANY(p_user_ids) AND s.stats_date < p_day;
+
+    GET DIAGNOSTICS rolled = ROW_COUNT;
+    RETURN rolled;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Adds signed task counts, grouped by user, due date and completed, to the counters: +n for rows as written,
+-- -n for rows as they were. Counters are moved to today first so the overdue delta is relative to the same day.
+CREATE FUNCTION task_stats_apply(p_user_ids UUID[], p_due_dates DATE[], p_completed BOOLEAN[], p_deltas BIGINT[]) RETURNS VOID AS $$
+BEGIN
+    IF p_user_ids IS NULL THEN
+        RETURN;
+    END IF;
+
+    PERFORM task_stats_roll(p_user_ids, current_date);
+
+    INSERT INTO task_stats AS s (user_id, open_count, completed_count, overdue_count, stats_date)
+    SELECT c.user_id,
+           COALESCE(sum(c.delta) FILTER (WHERE NOT c.completed), 0),
+           COALESCE(sum(c.delta) FILTER (WHERE c.completed), 0),
+           COALESCE(sum(c.delta) FILTER (WHERE NOT c.completed AND c.due_date < current_date), 0),
+           current_date
+    FROM unnest(p_user_ids, p_due_dates, p_completed, p_deltas) AS c(user_id, due_date, completed, delta)
+    GROUP BY c.user_id
+    ON CONFLICT (user_id) DO UPDATE
+    SET open_count = s.open_count + EXCLUDED.open_count,
+        completed_count = s.completed_count + EXCLUDED.completed_count,
+        overdue_count = s.overdue_count + EXCLUDED.overdue_count;
+
+    INSERT INTO task_open_due_dates AS d (user_id, due_date, open_count)
+    SELECT c.user_id, c.due_date, c.delta
+    FROM unnest(p_user_ids, p_due_dates, p_completed, p_deltas) AS c(user_id, due_date, completed, delta)
+    WHERE NOT c.completed
+    ON CONFLICT (user_id, due_date) DO UPDATE
+    SET open_count = d.open_count + EXCLUDED.open_count;
+
+    DELETE FROM task_open_due_dates d
+    USING unnest(p_user_ids, p_due_dates, p_completed) AS c(user_id, due_date, completed)
+    WHERE NOT c.completed AND d.user_id = c.user_id AND d.due_date = c.due_date AND d.open_count = 0;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Statement triggers with transition tables: a batch insert or a bulk update costs one counter update per
+-- user, not one per row.
+CREATE FUNCTION tasks_stats_insert() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM task_stats_apply(array_agg(c.user_id), array_agg(c.due_date), array_agg(c.completed), array_agg(c.delta))
+    FROM (SELECT user_id, due_date, completed, count(*) AS delta
+          FROM new_rows
+          GROUP BY user_id, due_date, completed) c;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Rows whose due date and completed flag didn't change cancel out and cost nothing.
+CREATE FUNCTION tasks_stats_update() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM task_stats_apply(array_agg(c.user_id), array_agg(c.due_date), array_agg(c.completed), array_agg(c.delta))
+    FROM (SELECT user_id, due_date, completed, sum(delta)::BIGINT AS delta
+          FROM (SELECT user_id, due_date, completed, 1 AS delta FROM new_rows
+                UNION ALL
+                SELECT user_id, due_date, completed, -1 FROM old_rows) r
+          GROUP BY user_id, due_date, completed
+          HAVING sum(delta) <> 0) c;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION tasks_stats_delete() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM task_stats_apply(array_agg(c.user_id), array_agg(c.due_date), array_agg(c.completed), array_agg(c.delta))
+    FROM (SELECT user_id, due_date, completed, -count(*) AS delta
+          FROM old_rows
+          GROUP BY user_id, due_date, completed) c;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Recomputes the counters of the next p_limit users after p_after from their tasks and returns the last user
+-- of the batch (null once past the end) and how many counters had drifted. The user rows are locked first,
+-- the same lock every mutation takes, so no write of these users commits between the count and the repair.
+-- Only one instance reconciles at a time: if another holds the advisory lock nothing is done and locked is false.
+CREATE FUNCTION task_stats_reconcile(p_after UUID, p_limit INTEGER)
+    RETURNS TABLE (last_user_id UUID, repaired INTEGER, locked BOOLEAN) AS $$
+DECLARE
+    ids UUID[];
+BEGIN
+    IF NOT pg_try_advisory_xact_lock(hashtext('task_stats_reconcile')) THEN
+        RETURN QUERY SELECT p_after, 0, false;
+        RETURN;
+    END IF;
+
+    SELECT array_agg(u.id ORDER BY u.id) INTO ids
+    FROM (SELECT id FROM users WHERE id > p_after ORDER BY id LIMIT p_limit FOR UPDATE) u;
+
+    IF ids IS NULL THEN
+        DELETE FROM task_stats s WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = s.user_id);
+        DELETE FROM task_open_due_dates d WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = d.user_id);
+        RETURN QUERY SELECT NULL::UUID, 0, true;
+        RETURN;
+    END IF;
+
+    -- A plain day change is not drift.
+    PERFORM task_stats_roll(ids, current_date);
+
+    DELETE FROM task_open_due_dates WHERE user_id = ANY(ids);
+    INSERT INTO task_open_due_dates (user_id, due_date, open_count)
+    SELECT user_id, due_date, count(*)
+    FROM tasks
+    WHERE user_id = ANY(ids) AND completed = false
+    GROUP BY user_id, due_date;
+
+    RETURN QUERY
+    WITH actual AS (
+        SELECT u.id AS user_id,
+               count(t.id) FILTER (WHERE NOT t.completed) AS open_count,
+               count(t.id) FILTER (WHERE t.completed) AS completed_count,
+               count(t.id) FILTER (WHERE NOT t.completed AND t.due_date < current_date) AS overdue_count
+        FROM unnest(ids) AS u(id)
+        LEFT JOIN tasks t ON t.user_id = u.id
+        GROUP BY u.id
+    ), repairs AS (
+        INSERT INTO task_stats AS s (user_id, open_count, completed_count, overdue_count, stats_date)
+        SELECT a.user_id, a.open_count, a.completed_count, a.overdue_count, current_date FROM actual a
+        ON CONFLICT (user_id) DO UPDATE
+        SET open_count = EXCLUDED.open_count,
+            completed_count = EXCLUDED.completed_count,
+            overdue_count = EXCLUDED.overdue_count,
+            stats_date = EXCLUDED.stats_date
+        WHERE (s.open_count, s.completed_count, s.overdue_count, s.stats_date)
+              IS DISTINCT FROM (EXCLUDED.open_count, EXCLUDED.completed_count, EXCLUDED.overdue_count, EXCLUDED.stats_date)
+        RETURNING 1
+    )
+    SELECT ids[array_length(ids, 1)], (SELECT count(*) FROM repairs)::INTEGER, true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- The triggers go in before the backfill. Creating them waits for the writes in flight and holds new ones
+-- off only for that long; it gives up instead of queueing writers behind a long-running query.
+SET lock_timeout = '5s';
+
+CREATE TRIGGER tasks_stats_insert AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION tasks_stats_insert();
+
+CREATE TRIGGER tasks_stats_update AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION tasks_stats_update();
+
+CREATE TRIGGER tasks_stats_delete AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION tasks_stats_delete();
+
+RESET lock_timeout;
+
+-- Counters for the tasks already there, a batch of users per transaction (this migration runs outside one, see
+-- the .conf file), while writes go on. Each batch is a reconciliation: it locks the user rows, the lock every
+-- mutation takes before writing tasks, and stores counts recomputed from the tasks, replacing whatever the
+-- triggers counted for these users so far instead of adding to it. Until its batch is done, the stats of a
+-- user only reflect the changes since the triggers were created.
+DO $$
+DECLARE
+    after_id UUID := '00000000-0000-0000-0000-000000000000';
+    batch_locked BOOLEAN;
+BEGIN
+    LOOP
+        SELECT r.last_user_id, r.locked INTO after_id, batch_locked
+        FROM task_stats_reconcile(after_id, 500) r;
+
+        -- A reconciliation started elsewhere keeps the lock for one batch only.
+        IF NOT batch_locked THEN
+            PERFORM pg_sleep(1);
+        END IF;
+        EXIT WHEN after_id IS NULL;
+
+        COMMIT;
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,11 @@
+-- Tombstones are purged once they are older than the retention (TombstonePurger). A changes cursor below
+-- the highest change_seq purged could have missed a delete, so such a client must sync from scratch.
+CREATE TABLE task_changes_horizon (
+    id BOOLEAN PRIMARY KEY DEFAULT true CHECK (id),
+    purged_through BIGINT NOT NULL
+);
+
+INSERT INTO task_changes_horizon (purged_through) VALUES (0);
+
+-- Runs outside a transaction (see the .conf file) to build without blocking deletes.
+CREATE INDEX CONCURRENTLY idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
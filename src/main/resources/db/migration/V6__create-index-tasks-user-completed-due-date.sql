@@ -0,0 +1 @@
+CREATE INDEX idx_tasks_user_completed_due_date ON tasks (user_id, completed, due_date, id);
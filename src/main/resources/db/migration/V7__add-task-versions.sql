@@ -0,0 +1,2 @@
+ALTER TABLE users ADD COLUMN task_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
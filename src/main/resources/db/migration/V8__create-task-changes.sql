@@ -0,0 +1,56 @@
+-- Runs outside a transaction (see the .conf file), like V10: the column is added without rewriting the
+-- table, filled in batches that each commit on their own, and indexed without blocking writes.
+-- The catalog changes below still need a brief exclusive lock; they give up instead of queueing writers
+-- behind a long-running query.
+SET lock_timeout = '5s';
+
+CREATE SEQUENCE task_change_seq;
+
+-- Nullable and no default: metadata only. The default set next applies to the rows written from then on.
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT;
+ALTER TABLE tasks ALTER COLUMN change_seq SET DEFAULT nextval('task_change_seq');
+
+DO $$
+DECLARE
+    last_id UUID := '00000000-0000-0000-0000-000000000000';
+    batch_last_id UUID;
+BEGIN
+    LOOP
+        -- There is no max() for UUID: the last key of the batch is the highest of its first 10000 ids.
+        SELECT id INTO batch_last_id
+        FROM (SELECT id FROM tasks WHERE id > last_id ORDER BY id LIMIT 10000) batch
+        ORDER BY id DESC
+        LIMIT 1;
+
+        EXIT WHEN batch_last_id IS NULL;
+
+        UPDATE tasks SET change_seq = nextval('task_change_seq')
+        WHERE id > last_id AND id <= batch_last_id AND change_seq IS NULL;
+
+        last_id := batch_last_id;
+        COMMIT;
+    END LOOP;
+END;
+$$;
+
+-- Validated under a SHARE UPDATE EXCLUSIVE lock, so SET NOT NULL can skip its scan of the table.
+ALTER TABLE tasks ADD CONSTRAINT tasks_change_seq_not_null CHECK (change_seq IS NOT NULL) NOT VALID;
+ALTER TABLE tasks VALIDATE CONSTRAINT tasks_change_seq_not_null;
+ALTER TABLE tasks ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE tasks DROP CONSTRAINT tasks_change_seq_not_null;
+
+CREATE TABLE task_tombstones (
+    task_id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    change_seq BIGINT NOT NULL DEFAULT nextval('task_change_seq'),
+    deleted_at TIMESTAMP NOT NULL DEFAULT now(),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- The table is new and empty, a plain build is instant.
+CREATE INDEX idx_task_tombstones_user_change_seq ON task_tombstones (user_id, change_seq);
+
+RESET lock_timeout;
+
+-- Built without blocking writes. A build that fails leaves an invalid index: drop it before retrying.
+CREATE INDEX CONCURRENTLY idx_tasks_user_change_seq ON tasks (user_id, change_seq);
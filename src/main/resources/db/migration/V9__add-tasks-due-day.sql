@@ -0,0 +1,15 @@
+-- due_date was created as TIMESTAMP for a LocalDate. It moves to a DATE column in three steps so no step
+-- rewrites or locks the table for long: this one adds the column (nullable, no default: metadata only)
+-- and keeps it in sync for the rows written from now on.
+ALTER TABLE tasks ADD COLUMN due_day DATE;
+
+CREATE FUNCTION tasks_sync_due_day() RETURNS trigger AS $$
+BEGIN
+    NEW.due_day := NEW.due_date::date;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_sync_due_day
+    BEFORE INSERT OR UPDATE OF due_date ON tasks
+    FOR EACH ROW EXECUTE FUNCTION tasks_sync_due_day();
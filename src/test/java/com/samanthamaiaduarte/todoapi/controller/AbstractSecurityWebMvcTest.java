@@ -2,6 +2,7 @@ package com.samanthamaiaduarte.todoapi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.samanthamaiaduarte.todoapi.config.JacksonConfigTest;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
 import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
 import com.samanthamaiaduarte.todoapi.infra.security.TokenService;
 import com.samanthamaiaduarte.todoapi.repository.UserRepository;
@@ -15,8 +16,6 @@ import org.springframework.context.annotation.Import;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import com.samanthamaiaduarte.todoapi.domain.user.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
@@ -41,16 +40,13 @@ abstract class AbstractSecurityWebMvcTest {
     protected final String ADMIN_TOKEN = "admin-token";
     protected final String USER_TOKEN = "user-token";
 
-    protected final UserDetails adminUser = new User(UUID.randomUUID(), "useradmin", "pass", UserRole.ADMIN);
-    protected final UserDetails userUser = new User(UUID.randomUUID(), "usertest", "pass", UserRole.USER);
+    protected final AuthenticatedUser adminUser = new AuthenticatedUser(UUID.randomUUID(), "useradmin", UserRole.ADMIN);
+    protected final AuthenticatedUser userUser = new AuthenticatedUser(UUID.randomUUID(), "usertest", UserRole.USER);
 
     @BeforeEach
     void globalSetUp() {
-        when(tokenService.validateToken(ADMIN_TOKEN)).thenReturn(adminUser.getUsername());
-        when(userRepository.findByLogin(adminUser.getUsername())).thenReturn(adminUser);
-
-        when(tokenService.validateToken(USER_TOKEN)).thenReturn(userUser.getUsername());
-        when(userRepository.findByLogin(userUser.getUsername())).thenReturn(userUser);
+        when(tokenService.validateToken(ADMIN_TOKEN)).thenReturn(adminUser);
+        when(tokenService.validateToken(USER_TOKEN)).thenReturn(userUser);
 
         when(tokenService.validateToken(argThat(token ->
                 !ADMIN_TOKEN.equals(token) && !USER_TOKEN.equals(token))))
@@ -2,8 +2,11 @@ package com.samanthamaiaduarte.todoapi.controller;
 
 import com.samanthamaiaduarte.todoapi.domain.user.AuthenticationDTO;
 import com.samanthamaiaduarte.todoapi.domain.user.LoginResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.RefreshTokenDTO;
 import com.samanthamaiaduarte.todoapi.domain.user.RegisterDTO;
 import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.exception.RefreshTokenInvalidException;
+import com.samanthamaiaduarte.todoapi.exception.ServiceBusyException;
 import com.samanthamaiaduarte.todoapi.exception.UserAlreadyExistsException;
 import com.samanthamaiaduarte.todoapi.exception.UserNotFoundException;
 import com.samanthamaiaduarte.todoapi.service.AuthenticationService;
@@ -27,7 +30,7 @@ class AuthenticationControllerTest extends AbstractSecurityWebMvcTest {
     void testLoginSuccess() throws Exception{
         LocalDateTime refresh = LocalDateTime.of(2025, 6, 19, 20, 15);
         AuthenticationDTO data = new AuthenticationDTO("usertest", "12345");
-        LoginResponseDTO expectedToken = new LoginResponseDTO(refresh, "bearer", "token", 7200);
+        LoginResponseDTO expectedToken = new LoginResponseDTO(refresh, "bearer", "token", 7200, "refresh-token");
 
         when(authenticationService.login(data.login(), data.password())).thenReturn(expectedToken);
 
@@ -37,7 +40,8 @@ class AuthenticationControllerTest extends AbstractSecurityWebMvcTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token_type").value("bearer"))
                 .andExpect(jsonPath("$.access_token").value("token"))
-                .andExpect(jsonPath("$.expires_in").value(7200));
+                .andExpect(jsonPath("$.expires_in").value(7200))
+                .andExpect(jsonPath("$.refresh_token").value("refresh-token"));
     }
 
     @Test
@@ -90,6 +94,22 @@ class AuthenticationControllerTest extends AbstractSecurityWebMvcTest {
                 .andExpect(jsonPath("$.errorMessage").value("User not found or wrong password."));
     }
 
+    @Test
+    @DisplayName("POST /auth/login should return 503 with Retry-After when password hashing is saturated")
+    void testLoginBusy() throws Exception {
+        AuthenticationDTO data = new AuthenticationDTO("usertest", "password");
+
+        when(authenticationService.login(data.login(), data.password()))
+                .thenThrow(new ServiceBusyException(2));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.errorMessage").value("Server is busy, try again later."));
+    }
+
     @Test
     @DisplayName("POST /auth/login should return 415 when content type is not JSON")
     void testLoginFailure3() throws Exception {
@@ -101,6 +121,50 @@ class AuthenticationControllerTest extends AbstractSecurityWebMvcTest {
                 .andExpect(status().isUnsupportedMediaType());
     }
 
+    @Test
+    @DisplayName("POST /auth/refresh should return 200 and a new token pair when the refresh token is valid")
+    void testRefreshSuccess() throws Exception {
+        LocalDateTime refresh = LocalDateTime.of(2025, 6, 19, 20, 15);
+        RefreshTokenDTO data = new RefreshTokenDTO("refresh-token");
+        LoginResponseDTO expectedToken = new LoginResponseDTO(refresh, "bearer", "token", 7200, "new-refresh-token");
+
+        when(authenticationService.refresh(data.refresh_token())).thenReturn(expectedToken);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.access_token").value("token"))
+                .andExpect(jsonPath("$.refresh_token").value("new-refresh-token"));
+    }
+
+    @Test
+    @DisplayName("POST /auth/refresh should return 400 when refresh token is blank")
+    void testRefreshFailure1() throws Exception {
+        RefreshTokenDTO data = new RefreshTokenDTO("");
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage.refresh_token").value("Invalid refresh token"));
+    }
+
+    @Test
+    @DisplayName("POST /auth/refresh should return 401 when refresh token is invalid or reused")
+    void testRefreshFailure2() throws Exception {
+        RefreshTokenDTO data = new RefreshTokenDTO("reused-token");
+
+        when(authenticationService.refresh(data.refresh_token()))
+                .thenThrow(new RefreshTokenInvalidException("Refresh token reuse detected. Login again."));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errorMessage").value("Refresh token reuse detected. Login again."));
+    }
+
     @Test
     @DisplayName("POST /auth/register should return 201 when credentials are created")
     void testRegisterSuccess() throws Exception {
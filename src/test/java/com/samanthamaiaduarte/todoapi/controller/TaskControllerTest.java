@@ -1,33 +1,61 @@
 package com.samanthamaiaduarte.todoapi.controller;
 
+import com.samanthamaiaduarte.todoapi.domain.task.TaskBulkResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangeDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangesDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskCursor;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDuePageDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskIdsRequestDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskPageDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskRequestDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
-import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskStatsDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
 import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
 import com.samanthamaiaduarte.todoapi.exception.ApiTokenExpiredException;
 import com.samanthamaiaduarte.todoapi.exception.ApiTokenInvalidException;
+import com.samanthamaiaduarte.todoapi.exception.ServiceBusyException;
+import com.samanthamaiaduarte.todoapi.exception.TaskCursorInvalidException;
+import com.samanthamaiaduarte.todoapi.exception.TaskDueRangeInvalidException;
 import com.samanthamaiaduarte.todoapi.exception.TaskForbiddenException;
 import com.samanthamaiaduarte.todoapi.exception.TaskNotFoundException;
+import com.samanthamaiaduarte.todoapi.service.TaskExportLimiter;
 import com.samanthamaiaduarte.todoapi.service.TaskService;
+import com.samanthamaiaduarte.todoapi.service.TaskStreamService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class TaskControllerTest extends AbstractSecurityWebMvcTest {
     @MockBean
     private TaskService taskService;
+    @MockBean
+    private TaskStreamService taskStreamService;
+    @MockBean
+    private TaskExportLimiter taskExportLimiter;
 
     @Test
     @DisplayName("POST /tasks should return 201 when a task was created")
@@ -38,7 +66,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
         TaskRequestDTO data = new TaskRequestDTO("Test 1", "Task test 1", created);
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(UUID.randomUUID(), "Test 1", "Task test 1", created, false);
 
-        when(taskService.createTask(eq(data), any(User.class))).thenReturn(taskResponseDTO);
+        when(taskService.createTask(eq(data), any(AuthenticatedUser.class))).thenReturn(taskResponseDTO);
 
         mockMvc.perform(post("/tasks")
                         .header("Authorization", "Bearer admin-token")
@@ -49,7 +77,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
                 .andExpect(jsonPath("$.description").value("Task test 1"))
                 .andExpect(jsonPath("$.completed").value(false));
 
-        verify(taskService).createTask(eq(data), any(User.class));
+        verify(taskService).createTask(eq(data), any(AuthenticatedUser.class));
     }
 
     @Test
@@ -173,6 +201,136 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
                 .andExpect(status().isUnsupportedMediaType());
     }
 
+    @Test
+    @DisplayName("POST /tasks/batch should return 201 with the created tasks in order")
+    void testTaskBatchCreateSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        LocalDate created = LocalDate.now();
+        List<TaskRequestDTO> data = List.of(
+                new TaskRequestDTO("Test 1", "Task test 1", created),
+                new TaskRequestDTO("Test 2", "Task test 2", created)
+        );
+        List<TaskResponseDTO> listDTO = List.of(
+                new TaskResponseDTO(UUID.randomUUID(), "Test 1", "Task test 1", created, false),
+                new TaskResponseDTO(UUID.randomUUID(), "Test 2", "Task test 2", created, false)
+        );
+
+        when(taskService.createTasks(eq(data), any(AuthenticatedUser.class))).thenReturn(listDTO);
+
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Authorization", "Bearer admin-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Test 1"))
+                .andExpect(jsonPath("$[1].title").value("Test 2"));
+
+        verify(taskService).createTasks(eq(data), any(AuthenticatedUser.class));
+    }
+
+    @Test
+    @DisplayName("POST /tasks/batch should return 400 with the position of the invalid task")
+    void testTaskBatchCreateFailed1() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        LocalDate created = LocalDate.now();
+        List<TaskRequestDTO> data = List.of(
+                new TaskRequestDTO("Test 1", "Task test 1", created),
+                new TaskRequestDTO("", "Task test 2", created)
+        );
+
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Authorization", "Bearer admin-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage['[1].title']").exists());
+
+        verify(taskService, never()).createTasks(any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /tasks/batch should return 400 when the batch is empty or too large")
+    void testTaskBatchCreateFailed2() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        TaskRequestDTO task = new TaskRequestDTO("Test 1", "Task test 1", LocalDate.now());
+
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Authorization", "Bearer admin-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Authorization", "Bearer admin-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.nCopies(TaskController.MAX_BATCH_SIZE + 1, task))))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).createTasks(any(), any());
+    }
+
+    @Test
+    @DisplayName("PATCH /tasks/completed should return 200 with the affected and not found ids")
+    void testTaskBulkCompleteSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        UUID owned = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        TaskIdsRequestDTO data = new TaskIdsRequestDTO(List.of(owned, missing));
+
+        when(taskService.completedTasks(eq(data.ids()), any(AuthenticatedUser.class))).thenReturn(new TaskBulkResponseDTO(List.of(owned), List.of(missing)));
+
+        mockMvc.perform(patch("/tasks/completed")
+                        .header("Authorization", "Bearer admin-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected[0]").value(owned.toString()))
+                .andExpect(jsonPath("$.notFound[0]").value(missing.toString()));
+
+        verify(taskService).completedTasks(eq(data.ids()), any(AuthenticatedUser.class));
+    }
+
+    @Test
+    @DisplayName("DELETE /tasks should return 200 with the affected and not found ids")
+    void testTaskBulkDeleteSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        UUID owned = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        TaskIdsRequestDTO data = new TaskIdsRequestDTO(List.of(owned, missing));
+
+        when(taskService.deleteTasks(eq(data.ids()), any(AuthenticatedUser.class))).thenReturn(new TaskBulkResponseDTO(List.of(owned), List.of(missing)));
+
+        mockMvc.perform(delete("/tasks")
+                        .header("Authorization", "Bearer admin-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(data)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected[0]").value(owned.toString()))
+                .andExpect(jsonPath("$.notFound[0]").value(missing.toString()));
+
+        verify(taskService).deleteTasks(eq(data.ids()), any(AuthenticatedUser.class));
+    }
+
+    @Test
+    @DisplayName("DELETE /tasks should return 400 when no ids are provided")
+    void testTaskBulkDeleteFailed() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        mockMvc.perform(delete("/tasks")
+                        .header("Authorization", "Bearer admin-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskIdsRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).deleteTasks(any(), any());
+    }
+
     @Test
     @DisplayName("PUT /tasks/{taskId} should return 200 when task is successfully updated")
     void testUpdateTaskSuccess() throws Exception {
@@ -183,7 +341,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
         TaskRequestDTO data = new TaskRequestDTO("Updated Title", "Updated Description", created);
         TaskResponseDTO response = new TaskResponseDTO(taskId, "Updated Title", "Updated Description", created, false);
 
-        when(taskService.updateTask(eq(taskId), eq(data), any(User.class))).thenReturn(response);
+        when(taskService.updateTask(eq(taskId), eq(data), any(AuthenticatedUser.class))).thenReturn(response);
 
         mockMvc.perform(put("/tasks/{taskId}", taskId)
                         .header("Authorization", "Bearer admin-token")
@@ -195,7 +353,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
                 .andExpect(jsonPath("$.description").value("Updated Description"))
                 .andExpect(jsonPath("$.completed").value(false));
 
-        verify(taskService).updateTask(eq(taskId), eq(data), any(User.class));
+        verify(taskService).updateTask(eq(taskId), eq(data), any(AuthenticatedUser.class));
     }
 
     @Test
@@ -335,7 +493,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
         LocalDate created = LocalDate.now();
         TaskRequestDTO data = new TaskRequestDTO("Test 1", "Task test 1", created);
 
-        doThrow(new TaskForbiddenException()).when(taskService).updateTask(eq(taskId), eq(data), any(User.class));
+        doThrow(new TaskForbiddenException()).when(taskService).updateTask(eq(taskId), eq(data), any(AuthenticatedUser.class));
 
         mockMvc.perform(put("/tasks/{taskId}", taskId)
                         .header("Authorization", "Bearer user-token")
@@ -353,7 +511,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
         LocalDate created = LocalDate.now();
         TaskRequestDTO data = new TaskRequestDTO("Test 1", "Task test 1", created);
 
-        doThrow(new TaskNotFoundException()).when(taskService).updateTask(eq(taskId), eq(data), any(User.class));
+        doThrow(new TaskNotFoundException()).when(taskService).updateTask(eq(taskId), eq(data), any(AuthenticatedUser.class));
 
         mockMvc.perform(put("/tasks/{taskId}", taskId)
                         .header("Authorization", "Bearer admin-token")
@@ -389,7 +547,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
                         .header("Authorization", "Bearer admin-token"))
                 .andExpect(status().isNoContent());
 
-        verify(taskService).deleteTask(eq(taskId), any(User.class));
+        verify(taskService).deleteTask(eq(taskId), any(AuthenticatedUser.class));
     }
 
     @Test
@@ -444,7 +602,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
 
         UUID taskId = UUID.randomUUID();
 
-        doThrow(new TaskForbiddenException()).when(taskService).deleteTask(eq(taskId), any(User.class));
+        doThrow(new TaskForbiddenException()).when(taskService).deleteTask(eq(taskId), any(AuthenticatedUser.class));
 
         mockMvc.perform(delete("/tasks/{taskId}", taskId)
                         .header("Authorization", "Bearer user-token"))
@@ -458,7 +616,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
 
         UUID taskId = UUID.randomUUID();
 
-        doThrow(new TaskNotFoundException()).when(taskService).deleteTask(eq(taskId), any(User.class));
+        doThrow(new TaskNotFoundException()).when(taskService).deleteTask(eq(taskId), any(AuthenticatedUser.class));
 
         mockMvc.perform(delete("/tasks/{taskId}", taskId)
                         .header("Authorization", "Bearer admin-token"))
@@ -476,7 +634,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
                         .header("Authorization", "Bearer admin-token"))
                 .andExpect(status().isNoContent());
 
-        verify(taskService).completedTask(eq(taskId), any(User.class));
+        verify(taskService).completedTask(eq(taskId), any(AuthenticatedUser.class));
     }
 
     @Test
@@ -531,7 +689,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
 
         UUID taskId = UUID.randomUUID();
 
-        doThrow(new TaskForbiddenException()).when(taskService).completedTask(eq(taskId), any(User.class));
+        doThrow(new TaskForbiddenException()).when(taskService).completedTask(eq(taskId), any(AuthenticatedUser.class));
 
         mockMvc.perform(patch("/tasks/completed/{taskId}", taskId)
                         .header("Authorization", "Bearer user-token"))
@@ -545,7 +703,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
 
         UUID taskId = UUID.randomUUID();
 
-        doThrow(new TaskNotFoundException()).when(taskService).completedTask(eq(taskId), any(User.class));
+        doThrow(new TaskNotFoundException()).when(taskService).completedTask(eq(taskId), any(AuthenticatedUser.class));
 
         mockMvc.perform(patch("/tasks/completed/{taskId}", taskId)
                         .header("Authorization", "Bearer admin-token"))
@@ -561,7 +719,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
         LocalDate created = LocalDate.now();
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(UUID.randomUUID(), "Test 1", "Task test 1", created, false);
 
-        when(taskService.selectTask(eq(taskId), any(User.class))).thenReturn(taskResponseDTO);
+        when(taskService.selectTask(eq(taskId), any(AuthenticatedUser.class))).thenReturn(taskResponseDTO);
 
         mockMvc.perform(get("/tasks/{taskId}", taskId)
                         .header("Authorization", "Bearer admin-token"))
@@ -570,7 +728,196 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
                 .andExpect(jsonPath("$.description").value("Task test 1"))
                 .andExpect(jsonPath("$.completed").value(false));
 
-        verify(taskService).selectTask(eq(taskId), any(User.class));
+        verify(taskService).selectTask(eq(taskId), any(AuthenticatedUser.class));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/{taskId} should return 304 without loading the task when the ETag still matches")
+    void testTaskSelectNotModified() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        UUID taskId = UUID.randomUUID();
+        String etag = "\"" + taskId + ".3\"";
+
+        when(taskService.selectTaskVersion(eq(taskId), any(AuthenticatedUser.class))).thenReturn(3L);
+
+        mockMvc.perform(get("/tasks/{taskId}", taskId)
+                        .header("Authorization", "Bearer admin-token")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        verify(taskService, never()).selectTask(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/{taskId} should return 200 with a new ETag when the task changed")
+    void testTaskSelectModified() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        UUID taskId = UUID.randomUUID();
+        TaskResponseDTO taskResponseDTO = new TaskResponseDTO(taskId, "Test 1", "Task test 1", LocalDate.now(), true);
+
+        when(taskService.selectTaskVersion(eq(taskId), any(AuthenticatedUser.class))).thenReturn(4L);
+        when(taskService.selectTask(eq(taskId), any(AuthenticatedUser.class))).thenReturn(taskResponseDTO);
+
+        mockMvc.perform(get("/tasks/{taskId}", taskId)
+                        .header("Authorization", "Bearer admin-token")
+                        .header("If-None-Match", "\"" + taskId + ".3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + taskId + ".4\""))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/changes should return 200 with the changes and the next cursor")
+    void testTaskChangesSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        UUID deletedId = UUID.randomUUID();
+        TaskChangesDTO changes = new TaskChangesDTO(List.of(
+                new TaskChangeDTO(UUID.randomUUID(), "Test 1", "Task test 1", LocalDate.now(), false, false),
+                new TaskChangeDTO(deletedId, null, null, null, null, true)
+        ), "57", false);
+
+        when(taskService.selectChanges(any(AuthenticatedUser.class), eq("12"))).thenReturn(changes);
+
+        mockMvc.perform(get("/tasks/changes")
+                        .param("since", "12")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(2))
+                .andExpect(jsonPath("$.changes[1].id").value(deletedId.toString()))
+                .andExpect(jsonPath("$.changes[1].deleted").value(true))
+                .andExpect(jsonPath("$.cursor").value("57"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/export should return 200 with the tasks as NDJSON")
+    void testTaskExportSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        String ndjson = "{\"title\":\"Test 1\"}\n{\"title\":\"Test 2\"}\n";
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(taskService).exportTasks(any(AuthenticatedUser.class), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+                .andExpect(content().string(ndjson));
+
+        verify(taskExportLimiter).acquire();
+        verify(taskExportLimiter).release();
+    }
+
+    @Test
+    @DisplayName("GET /tasks/export should give the permit back when the export fails")
+    void testTaskExportFailure() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        doThrow(new IllegalStateException("connection lost")).when(taskService).exportTasks(any(AuthenticatedUser.class), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        verify(taskExportLimiter).release();
+    }
+
+    @Test
+    @DisplayName("GET /tasks/export should give the permit back once when the request ends before the export does")
+    void testTaskExportRequestEnded() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            finish.await();
+            return null;
+        }).when(taskService).exportTasks(any(AuthenticatedUser.class), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // The client went away or the request timed out: the container completes it under the running export.
+        result.getRequest().getAsyncContext().complete();
+        verify(taskExportLimiter).release();
+
+        finish.countDown();
+        verify(taskExportLimiter, after(500).times(1)).release();
+    }
+
+    @Test
+    @DisplayName("GET /tasks/export should return 503 with Retry-After when too many exports are running")
+    void testTaskExportBusy() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        doThrow(new ServiceBusyException("Too many exports running, try again later.", 5)).when(taskExportLimiter).acquire();
+
+        mockMvc.perform(get("/tasks/export")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.errorMessage").value("Too many exports running, try again later."));
+
+        verifyNoInteractions(taskService);
+        verify(taskExportLimiter, never()).release();
+    }
+
+    @Test
+    @DisplayName("GET /tasks/export should return 401 when a invalid token is provided")
+    void testTaskExportUnauthorized() throws Exception {
+        doThrow(new ApiTokenInvalidException("Invalid token.")).when(tokenService).validateToken("invalid-token");
+
+        mockMvc.perform(get("/tasks/export")
+                        .header("Authorization", "Bearer invalid-token"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("GET /tasks/stream should start an event stream resuming from Last-Event-ID")
+    void testTaskStreamSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        when(taskStreamService.subscribe(any(AuthenticatedUser.class), eq("57"))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/tasks/stream")
+                        .header("Last-Event-ID", "57")
+                        .header("Authorization", "Bearer admin-token")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(taskStreamService).subscribe(any(AuthenticatedUser.class), eq("57"));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/stream should return 401 when a invalid token is provided")
+    void testTaskStreamUnauthorized() throws Exception {
+        doThrow(new ApiTokenInvalidException("Invalid token.")).when(tokenService).validateToken("invalid-token");
+
+        mockMvc.perform(get("/tasks/stream")
+                        .header("Authorization", "Bearer invalid-token")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(taskStreamService);
     }
 
     @Test
@@ -625,7 +972,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
 
         UUID taskId = UUID.randomUUID();
 
-        doThrow(new TaskForbiddenException()).when(taskService).selectTask(eq(taskId), any(User.class));
+        doThrow(new TaskForbiddenException()).when(taskService).selectTask(eq(taskId), any(AuthenticatedUser.class));
 
         mockMvc.perform(get("/tasks/{taskId}", taskId)
                         .header("Authorization", "Bearer user-token"))
@@ -639,7 +986,7 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
 
         UUID taskId = UUID.randomUUID();
 
-        doThrow(new TaskNotFoundException()).when(taskService).selectTask(eq(taskId), any(User.class));
+        doThrow(new TaskNotFoundException()).when(taskService).selectTask(eq(taskId), any(AuthenticatedUser.class));
 
         mockMvc.perform(get("/tasks/{taskId}", taskId)
                         .header("Authorization", "Bearer admin-token"))
@@ -659,13 +1006,112 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
                 new TaskResponseDTO(UUID.randomUUID(), "Test 3", "Task test 3", created.minusDays(2), completed)
         );
 
-        when(taskService.selectTasks(any(User.class), eq(completed))).thenReturn(listDTO);
+        when(taskService.selectTasks(any(AuthenticatedUser.class), eq(completed), isNull(), eq(50))).thenReturn(new TaskPageDTO(listDTO, null));
 
         mockMvc.perform(get("/tasks")
                         .header("Authorization", "Bearer admin-token"))
                 .andExpect(status().isOk());
 
-        verify(taskService).selectTasks(any(User.class), eq(completed));
+        verify(taskService).selectTasks(any(AuthenticatedUser.class), eq(completed), isNull(), eq(50));
+    }
+
+    @Test
+    @DisplayName("GET /tasks should return the next page cursor in the X-Next-Cursor header")
+    void testTaskSelectListNextPage() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        Boolean completed = false;
+        LocalDate created = LocalDate.now();
+        TaskResponseDTO last = new TaskResponseDTO(UUID.randomUUID(), "Test 2", "Task test 2", created, completed);
+        List<TaskResponseDTO> listDTO = List.of(
+                new TaskResponseDTO(UUID.randomUUID(), "Test 1", "Task test 1", created, completed),
+                last
+        );
+        String cursor = new TaskCursor(created.minusDays(1), UUID.randomUUID()).encode();
+        String nextCursor = TaskCursor.of(last).encode();
+
+        when(taskService.selectTasks(any(AuthenticatedUser.class), eq(completed), eq(cursor), eq(2))).thenReturn(new TaskPageDTO(listDTO, nextCursor));
+
+        mockMvc.perform(get("/tasks")
+                        .param("cursor", cursor)
+                        .param("limit", "2")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", nextCursor))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        verify(taskService).selectTasks(any(AuthenticatedUser.class), eq(completed), eq(cursor), eq(2));
+    }
+
+    @Test
+    @DisplayName("GET /tasks should return 304 without querying the tasks when the task set version is unchanged")
+    void testTaskSelectListNotModified() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        when(taskService.selectTasksVersion(any(AuthenticatedUser.class))).thenReturn(12L);
+        when(taskService.selectTasks(any(AuthenticatedUser.class), eq(false), isNull(), eq(50)))
+                .thenReturn(new TaskPageDTO(List.of(new TaskResponseDTO(UUID.randomUUID(), "Test 1", "Task test 1", LocalDate.now(), false)), null));
+
+        String etag = mockMvc.perform(get("/tasks")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/tasks")
+                        .header("Authorization", "Bearer admin-token")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        verify(taskService, times(1)).selectTasks(any(AuthenticatedUser.class), eq(false), isNull(), eq(50));
+    }
+
+    @Test
+    @DisplayName("GET /tasks should return 200 when the ETag sent is the one of another page")
+    void testTaskSelectListOtherPageModified() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        when(taskService.selectTasksVersion(any(AuthenticatedUser.class))).thenReturn(12L);
+        when(taskService.selectTasks(any(AuthenticatedUser.class), eq(false), any(), anyInt()))
+                .thenReturn(new TaskPageDTO(List.of(new TaskResponseDTO(UUID.randomUUID(), "Test 1", "Task test 1", LocalDate.now(), false)), null));
+
+        String etag = mockMvc.perform(get("/tasks")
+                        .param("limit", "1")
+                        .param("cursor", "page-1")
+                        .header("Authorization", "Bearer admin-token"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String nextPageEtag = mockMvc.perform(get("/tasks")
+                        .param("limit", "1")
+                        .param("cursor", "page-2")
+                        .header("Authorization", "Bearer admin-token")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/tasks")
+                        .param("cursor", "page-1")
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer admin-token")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        assertNotEquals(etag, nextPageEtag);
+        verify(taskService).selectTasks(any(AuthenticatedUser.class), eq(false), eq("page-2"), eq(1));
+    }
+
+    @Test
+    @DisplayName("GET /tasks should return 400 when the cursor is invalid")
+    void testTaskSelectListInvalidCursor() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        when(taskService.selectTasks(any(AuthenticatedUser.class), eq(false), eq("invalid"), eq(50))).thenThrow(new TaskCursorInvalidException());
+
+        mockMvc.perform(get("/tasks")
+                        .param("cursor", "invalid")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -714,13 +1160,13 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
                 new TaskResponseDTO(UUID.randomUUID(), "Test 3", "Task test 3", created.minusDays(2), completed)
         );
 
-        when(taskService.selectTasks(any(User.class), eq(completed))).thenReturn(listDTO);
+        when(taskService.selectTasks(any(AuthenticatedUser.class), eq(completed), isNull(), eq(50))).thenReturn(new TaskPageDTO(listDTO, null));
 
         mockMvc.perform(get("/tasks/completed")
                         .header("Authorization", "Bearer admin-token"))
                 .andExpect(status().isOk());
 
-        verify(taskService).selectTasks(any(User.class), eq(completed));
+        verify(taskService).selectTasks(any(AuthenticatedUser.class), eq(completed), isNull(), eq(50));
     }
 
     @Test
@@ -755,4 +1201,190 @@ class TaskControllerTest extends AbstractSecurityWebMvcTest {
         mockMvc.perform(get("/tasks/completed"))
                 .andExpect(status().isForbidden());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /tasks/due should return 200 with the uncompleted tasks due in the range")
+    void testTaskSelectDueSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(6);
+        List<TaskResponseDTO> listDTO = List.of(
+                new TaskResponseDTO(UUID.randomUUID(), "Test 1", "Task test 1", from, false),
+                new TaskResponseDTO(UUID.randomUUID(), "Test 2", "Task test 2", to, false)
+        );
+
+        when(taskService.selectDueTasks(any(AuthenticatedUser.class), eq(false), eq(from), eq(to), isNull(), eq(50))).thenReturn(new TaskPageDTO(listDTO, null));
+
+        mockMvc.perform(get("/tasks/due")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        verify(taskService).selectDueTasks(any(AuthenticatedUser.class), eq(false), eq(from), eq(to), isNull(), eq(50));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/due should return 400 when the range is missing or not a date")
+    void testTaskSelectDueFailed1() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        mockMvc.perform(get("/tasks/due")
+                        .param("from", LocalDate.now().toString())
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/tasks/due")
+                        .param("from", "tomorrow")
+                        .param("to", LocalDate.now().toString())
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).selectDueTasks(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/due should return 400 when the range starts after it ends")
+    void testTaskSelectDueFailed2() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.minusDays(1);
+
+        when(taskService.selectDueTasks(any(AuthenticatedUser.class), eq(false), eq(from), eq(to), isNull(), eq(50))).thenThrow(new TaskDueRangeInvalidException());
+
+        mockMvc.perform(get("/tasks/due")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/due should return 403 when no token is provided")
+    void testTaskSelectDueForbidden1 () throws Exception {
+        mockMvc.perform(get("/tasks/due")
+                        .param("from", LocalDate.now().toString())
+                        .param("to", LocalDate.now().toString()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/overdue should return 200 with the id, title and due date of the overdue tasks")
+    void testTaskSelectOverdueSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        List<TaskDueDTO> listDTO = List.of(new TaskDueDTO(UUID.randomUUID(), "Test 1", LocalDate.now().minusDays(1)));
+
+        when(taskService.selectOverdueTasks(any(AuthenticatedUser.class), isNull(), eq(50))).thenReturn(new TaskDuePageDTO(listDTO, null));
+
+        mockMvc.perform(get("/tasks/overdue")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[0].title").value("Test 1"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/overdue should return 403 when no token is provided")
+    void testTaskSelectOverdueForbidden1 () throws Exception {
+        mockMvc.perform(get("/tasks/overdue"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/due-soon should return 200 with the tasks due in the next 7 days by default")
+    void testTaskSelectDueSoonSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        List<TaskDueDTO> listDTO = List.of(new TaskDueDTO(UUID.randomUUID(), "Test 1", LocalDate.now().plusDays(2)));
+
+        when(taskService.selectDueSoonTasks(any(AuthenticatedUser.class), eq(7), isNull(), eq(50))).thenReturn(new TaskDuePageDTO(listDTO, null));
+
+        mockMvc.perform(get("/tasks/due-soon")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        verify(taskService).selectDueSoonTasks(any(AuthenticatedUser.class), eq(7), isNull(), eq(50));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/due-soon should return 400 when days is out of range")
+    void testTaskSelectDueSoonFailed() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        when(taskService.selectDueSoonTasks(any(AuthenticatedUser.class), eq(-1), isNull(), eq(50))).thenThrow(new TaskDueRangeInvalidException("Days must be between 0 and 365."));
+
+        mockMvc.perform(get("/tasks/due-soon")
+                        .param("days", "-1")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/stats should return 200 with the task counts of the user")
+    void testTaskSelectStatsSuccess() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        when(taskService.selectTaskStats(any(AuthenticatedUser.class))).thenReturn(new TaskStatsDTO(12, 30, 3, 2));
+
+        mockMvc.perform(get("/tasks/stats")
+                        .header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.open").value(12))
+                .andExpect(jsonPath("$.completed").value(30))
+                .andExpect(jsonPath("$.overdue").value(3))
+                .andExpect(jsonPath("$.dueToday").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/stats should return 304 when the ETag still matches")
+    void testTaskSelectStatsNotModified() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        when(taskService.selectTasksVersion(any(AuthenticatedUser.class))).thenReturn(4L);
+
+        String etag = mockMvc.perform(get("/tasks/stats")
+                        .header("Authorization", "Bearer admin-token"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/tasks/stats")
+                        .header("Authorization", "Bearer admin-token")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, times(1)).selectTaskStats(any(AuthenticatedUser.class));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/overdue should return 200 when the ETag sent is the one of the stats")
+    void testTaskSelectOverdueStatsEtag() throws Exception {
+        setSecurityContext(UserRole.ADMIN);
+
+        when(taskService.selectTasksVersion(any(AuthenticatedUser.class))).thenReturn(4L);
+        when(taskService.selectOverdueTasks(any(AuthenticatedUser.class), isNull(), eq(50))).thenReturn(new TaskDuePageDTO(List.of(), null));
+
+        String etag = mockMvc.perform(get("/tasks/stats")
+                        .header("Authorization", "Bearer admin-token"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/tasks/overdue")
+                        .header("Authorization", "Bearer admin-token")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        verify(taskService).selectOverdueTasks(any(AuthenticatedUser.class), isNull(), eq(50));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/stats should return 403 when no token is provided")
+    void testTaskSelectStatsForbidden() throws Exception {
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,173 @@
+package com.samanthamaiaduarte.todoapi.infra.cache;
+
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationListenerTest {
+    private static final String OWN_NODE = "node-a";
+    private static final String OTHER_NODE = "node-b";
+
+    @Mock
+    private TaskCache taskCache;
+    @Mock
+    private CacheInvalidationPublisher publisher;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private CacheInvalidationListener listener;
+
+    private final Deque<Object> connections = new ArrayDeque<>();
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(listener, "connector", (CacheInvalidationListener.Connector) () -> {
+            Object next = connections.pop();
+            if(next instanceof SQLException exception) throw exception;
+            return (CacheInvalidationListener.Session) next;
+        });
+        ReflectionTestUtils.setField(listener, "sleeper", (CacheInvalidationListener.Sleeper) sleeps::add);
+        ReflectionTestUtils.setField(listener, "running", true);
+    }
+
+    @Test
+    @DisplayName("Check if failed connections are retried with a doubling backoff capped at 30 seconds")
+    void testReconnectBackoff() {
+        //Arrange
+        for(int i = 0; i < 7; i++) connections.add(new SQLException("connection refused"));
+        connections.add(new ScriptedSession(List.of(), false));
+
+        //Act
+        listener.run();
+
+        //Assert
+        assertEquals(List.of(1000L, 2000L, 4000L, 8000L, 16000L, 30000L, 30000L), sleeps);
+    }
+
+    @Test
+    @DisplayName("Check if the backoff starts over once a connection got through")
+    void testBackoffReset() {
+        //Arrange
+        connections.add(new SQLException("connection refused"));
+        connections.add(new SQLException("connection refused"));
+        connections.add(new ScriptedSession(List.of(), true));
+        connections.add(new ScriptedSession(List.of(), false));
+
+        //Act
+        listener.run();
+
+        //Assert
+        assertEquals(List.of(1000L, 2000L, 1000L), sleeps);
+    }
+
+    @Test
+    @DisplayName("Check if the cache is flushed when the connection is lost and again on reconnect, waking every stream")
+    void testFlushOnReconnect() {
+        //Arrange
+        connections.add(new ScriptedSession(List.of(), true));
+        connections.add(new ScriptedSession(List.of(), false));
+
+        //Act
+        listener.run();
+
+        //Assert
+        verify(taskCache, times(2)).clear();
+        verify(eventPublisher).publishEvent(TaskChangedEvent.anyUser());
+    }
+
+    @Test
+    @DisplayName("Check if the first connection neither flushes the cache nor wakes the streams")
+    void testNoFlushOnFirstConnection() {
+        //Arrange
+        connections.add(new ScriptedSession(List.of(), false));
+
+        //Act
+        listener.run();
+
+        //Assert
+        verifyNoInteractions(taskCache, eventPublisher);
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Check if only invalidations published by other nodes evict the user")
+    void testOwnNodeDropped() {
+        //Arrange
+        UUID ownUserId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        when(publisher.getNodeId()).thenReturn(OWN_NODE);
+        connections.add(new ScriptedSession(List.of(List.of(OWN_NODE + "|" + ownUserId, OTHER_NODE + "|" + otherUserId)), false));
+
+        //Act
+        listener.run();
+
+        //Assert
+        verify(taskCache).evictUserLocally(otherUserId);
+        verify(taskCache, never()).evictUserLocally(ownUserId);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(otherUserId));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Check if malformed payloads are skipped and the next invalidation still applied")
+    void testMalformedPayload() {
+        //Arrange
+        UUID userId = UUID.randomUUID();
+        when(publisher.getNodeId()).thenReturn(OWN_NODE);
+        connections.add(new ScriptedSession(List.of(List.of("garbage", OTHER_NODE + "|not-a-uuid"), List.of(OTHER_NODE + "|" + userId)), false));
+
+        //Act
+        listener.run();
+
+        //Assert
+        verify(taskCache).evictUserLocally(userId);
+        verifyNoMoreInteractions(taskCache);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(userId));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    // Hands out the scripted polls, then either fails like a dropped connection or stops the listener.
+    private class ScriptedSession implements CacheInvalidationListener.Session {
+        private final Deque<List<String>> polls;
+        private final boolean failAtEnd;
+
+        ScriptedSession(List<List<String>> polls, boolean failAtEnd) {
+            this.polls = new ArrayDeque<>(polls);
+            this.failAtEnd = failAtEnd;
+        }
+
+        @Override
+        public List<String> poll(int timeoutMs) throws SQLException {
+            if(!polls.isEmpty()) return polls.pop();
+            if(failAtEnd) throw new SQLException("connection lost");
+
+            ReflectionTestUtils.setField(listener, "running", false);
+            return List.of();
+        }
+
+        @Override
+        public void ping() { }
+
+        @Override
+        public void close() { }
+    }
+}
@@ -0,0 +1,50 @@
+package com.samanthamaiaduarte.todoapi.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationPublisherTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private CacheInvalidationPublisher publisher;
+
+    @Test
+    @DisplayName("Check if a change is sent with pg_notify, tagged with this node, when invalidation is enabled")
+    void testPublishEnabled() {
+        //Arrange
+        UUID userId = UUID.randomUUID();
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+
+        //Act
+        publisher.publish(userId);
+
+        //Assert
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq(CacheInvalidationPublisher.CHANNEL), eq(publisher.getNodeId() + "|" + userId));
+    }
+
+    @Test
+    @DisplayName("Check if nothing is sent to the database when invalidation is disabled")
+    void testPublishDisabled() {
+        //Act
+        publisher.publish(UUID.randomUUID());
+
+        //Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
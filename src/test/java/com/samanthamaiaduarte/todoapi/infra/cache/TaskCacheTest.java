@@ -0,0 +1,191 @@
+package com.samanthamaiaduarte.todoapi.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDuePageDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskPageDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCacheTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final UUID userId = UUID.randomUUID();
+    private final UUID otherUserId = UUID.randomUUID();
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+    @InjectMocks
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(taskCache, "enabled", true);
+        ReflectionTestUtils.setField(taskCache, "maxWeightBytes", 1_000_000L);
+        ReflectionTestUtils.setField(taskCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(taskCache, "ticker", (Ticker) nanos::get);
+        taskCache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Check if a stored value is read back under the same key")
+    void testPutAndGet() {
+        //Arrange
+        taskCache.put(taskCache.key(userId, "tasksVersion"), 3L);
+
+        //Act
+        Long result = taskCache.get(taskCache.key(userId, "tasksVersion"), Long.class);
+
+        //Assert
+        assertEquals(3L, result);
+        assertNull(taskCache.get(taskCache.key(userId, "tasksVersion", "other"), Long.class));
+    }
+
+    @Test
+    @DisplayName("Check if evicting outside a transaction moves the user to a new generation at once")
+    void testEvictUserWithoutTransaction() {
+        //Arrange
+        TaskCache.Key key = taskCache.key(userId, "tasksVersion");
+        taskCache.put(key, 3L);
+        taskCache.put(taskCache.key(otherUserId, "tasksVersion"), 5L);
+
+        //Act
+        taskCache.evictUser(userId);
+
+        //Assert
+        assertNotEquals(key.generation(), taskCache.key(userId, "tasksVersion").generation());
+        assertNull(taskCache.get(taskCache.key(userId, "tasksVersion"), Long.class));
+        assertEquals(5L, taskCache.get(taskCache.key(otherUserId, "tasksVersion"), Long.class));
+        verify(invalidationPublisher).publish(userId);
+    }
+
+    @Test
+    @DisplayName("Check if evicting inside a transaction bumps the generation only after commit")
+    void testEvictUserAfterCommit() {
+        //Arrange
+        TaskCache.Key key = taskCache.key(userId, "tasksVersion");
+        taskCache.put(key, 3L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        //Act
+        taskCache.evictUser(userId);
+        Long beforeCommit = taskCache.get(taskCache.key(userId, "tasksVersion"), Long.class);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        //Assert
+        assertEquals(3L, beforeCommit);
+        assertNotEquals(key.generation(), taskCache.key(userId, "tasksVersion").generation());
+        assertNull(taskCache.get(taskCache.key(userId, "tasksVersion"), Long.class));
+    }
+
+    @Test
+    @DisplayName("Check if a rolled back transaction leaves the entries of the user alone")
+    void testEvictUserRolledBack() {
+        //Arrange
+        TaskCache.Key key = taskCache.key(userId, "tasksVersion");
+        taskCache.put(key, 3L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        //Act
+        taskCache.evictUser(userId);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        //Assert
+        assertEquals(key.generation(), taskCache.key(userId, "tasksVersion").generation());
+        assertEquals(3L, taskCache.get(taskCache.key(userId, "tasksVersion"), Long.class));
+    }
+
+    @Test
+    @DisplayName("Check if an entry is dropped once the TTL has passed")
+    void testTtl() {
+        //Arrange
+        taskCache.put(taskCache.key(userId, "tasksVersion"), 3L);
+
+        //Act
+        nanos.addAndGet(Duration.ofSeconds(299).toNanos());
+        Long beforeTtl = taskCache.get(taskCache.key(userId, "tasksVersion"), Long.class);
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        Long afterTtl = taskCache.get(taskCache.key(userId, "tasksVersion"), Long.class);
+
+        //Assert
+        assertEquals(3L, beforeTtl);
+        assertNull(afterTtl);
+    }
+
+    @Test
+    @DisplayName("Check if the weigher counts the text of a task and adds up the tasks of a page")
+    void testWeigh() {
+        //Arrange
+        TaskResponseDTO task = new TaskResponseDTO(UUID.randomUUID(), "title", "description", LocalDate.now(), false);
+        TaskResponseDTO withoutDescription = new TaskResponseDTO(UUID.randomUUID(), "title", null, LocalDate.now(), false);
+
+        //Act
+        int taskWeight = TaskCache.weigh(task);
+        int pageWeight = TaskCache.weigh(new TaskPageDTO(List.of(task, withoutDescription), "cursor"));
+
+        //Assert
+        assertEquals(160 + 2 * 16, taskWeight);
+        assertEquals(64 + taskWeight + 160 + 2 * 5 + 40 + 2 * 6, pageWeight);
+        assertEquals(32, TaskCache.weigh(3L));
+    }
+
+    @Test
+    @DisplayName("Check if the weigher counts the title of a due task and adds up the tasks of a due page")
+    void testWeighDue() {
+        //Arrange
+        TaskDueDTO task = new TaskDueDTO(UUID.randomUUID(), "title", LocalDate.now());
+        TaskDueDTO longTitle = new TaskDueDTO(UUID.randomUUID(), "a longer title", LocalDate.now());
+
+        //Act
+        int taskWeight = TaskCache.weigh(task);
+        int pageWeight = TaskCache.weigh(new TaskDuePageDTO(List.of(task, longTitle), null));
+        int pageWithCursorWeight = TaskCache.weigh(new TaskDuePageDTO(List.of(task), "cursor"));
+
+        //Assert
+        assertEquals(120 + 2 * 5, taskWeight);
+        assertEquals(64 + taskWeight + 120 + 2 * 14, pageWeight);
+        assertEquals(64 + taskWeight + 40 + 2 * 6, pageWithCursorWeight);
+    }
+
+    @Test
+    @DisplayName("Check if a disabled cache hands out no keys and stores nothing")
+    void testDisabled() {
+        //Arrange
+        ReflectionTestUtils.setField(taskCache, "enabled", false);
+
+        //Act
+        TaskCache.Key key = taskCache.key(userId, "tasksVersion");
+        taskCache.put(key, 3L);
+
+        //Assert
+        assertNull(key);
+        assertNull(taskCache.get(key, Long.class));
+    }
+}
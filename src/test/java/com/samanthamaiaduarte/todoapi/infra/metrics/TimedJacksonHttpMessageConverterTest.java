@@ -0,0 +1,46 @@
+package com.samanthamaiaduarte.todoapi.infra.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedJacksonHttpMessageConverterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimedJacksonHttpMessageConverter converter = new TimedJacksonHttpMessageConverter(new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS), meterRegistry);
+
+    @Test
+    @DisplayName("Check if each body written is timed as http.json.write, tagged with its type")
+    void testWriteTimer() throws IOException {
+        //Arrange
+        TaskResponseDTO task = new TaskResponseDTO(UUID.randomUUID(), "Test task", "Task test for the JSON timer", LocalDate.of(2025, 6, 28), false);
+        MockHttpOutputMessage single = new MockHttpOutputMessage();
+        MockHttpOutputMessage list = new MockHttpOutputMessage();
+        MockHttpOutputMessage empty = new MockHttpOutputMessage();
+
+        //Act
+        converter.write(task, MediaType.APPLICATION_JSON, single);
+        converter.write(List.of(task, task), MediaType.APPLICATION_JSON, list);
+        converter.write(List.of(), MediaType.APPLICATION_JSON, empty);
+
+        //Assert
+        assertTrue(single.getBodyAsString().contains("\"title\":\"Test task\""));
+        assertEquals(1, meterRegistry.get("http.json.write").tag("type", "TaskResponseDTO").timer().count());
+        assertEquals(1, meterRegistry.get("http.json.write").tag("type", "List<TaskResponseDTO>").timer().count());
+        assertEquals(1, meterRegistry.get("http.json.write").tag("type", "List").timer().count());
+    }
+}
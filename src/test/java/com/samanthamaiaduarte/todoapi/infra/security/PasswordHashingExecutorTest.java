@@ -0,0 +1,73 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import com.samanthamaiaduarte.todoapi.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingExecutor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(passwordHashingExecutor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "poolSize", 1);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "retryAfterSeconds", 1L);
+        passwordHashingExecutor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Check if a hash is rejected right away, not queued, while every hashing thread is busy")
+    void testRejectedWhenBusy() throws Exception {
+        //Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHashingExecutor.execute("verify", () -> {
+            started.countDown();
+            finish.await();
+            return "hashed";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        //Act
+        ServiceBusyException result = assertThrows(ServiceBusyException.class, () -> passwordHashingExecutor.execute("encode", () -> "hashed"));
+        finish.countDown();
+
+        //Assert
+        assertEquals(1, result.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+        assertEquals("hashed", running.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Check if each hash is timed under its operation and a failure reaches the caller as thrown")
+    void testTimedAndRethrown() {
+        //Act
+        String encoded = passwordHashingExecutor.execute("encode", () -> "hashed");
+        IllegalArgumentException result = assertThrows(IllegalArgumentException.class,
+                () -> passwordHashingExecutor.execute("verify", () -> { throw new IllegalArgumentException("Bad credentials"); }));
+
+        //Assert
+        assertEquals("hashed", encoded);
+        assertEquals("Bad credentials", result.getMessage());
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "verify").timer().count());
+    }
+}
@@ -0,0 +1,47 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityConfigurationTest {
+
+    @Test
+    @DisplayName("Check if startup fails when the management port is the API port")
+    void testManagementPortShared() {
+        //Arrange
+        SecurityConfiguration securityConfiguration = configuration(8080, 8080);
+
+        //Act & Assert
+        assertThrows(IllegalStateException.class, securityConfiguration::managementEndpoints);
+    }
+
+    @Test
+    @DisplayName("Check if startup fails when no management port is set, the endpoints would share the API port")
+    void testManagementPortUnset() {
+        //Arrange
+        SecurityConfiguration securityConfiguration = configuration(-1, 8080);
+
+        //Act & Assert
+        assertThrows(IllegalStateException.class, securityConfiguration::managementEndpoints);
+    }
+
+    @Test
+    @DisplayName("Check if a management port of its own is accepted")
+    void testManagementPortApart() {
+        //Arrange
+        SecurityConfiguration securityConfiguration = configuration(8081, 8080);
+
+        //Act & Assert
+        assertNotNull(securityConfiguration.managementEndpoints());
+    }
+
+    private static SecurityConfiguration configuration(int managementPort, int serverPort) {
+        SecurityConfiguration securityConfiguration = new SecurityConfiguration();
+        ReflectionTestUtils.setField(securityConfiguration, "managementPort", managementPort);
+        ReflectionTestUtils.setField(securityConfiguration, "serverPort", serverPort);
+        return securityConfiguration;
+    }
+}
@@ -0,0 +1,183 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.infra.exceptionhandler.CustomAuthenticationEntryPoint;
+import com.samanthamaiaduarte.todoapi.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityFilterTest {
+    @Mock
+    private TokenService tokenService;
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private SecurityFilter securityFilter;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Check if the principal comes from the token claims alone when revalidation is off")
+    void testClaimsPrincipal() throws Exception {
+        //Arrange
+        init(0);
+        when(tokenService.validateToken("token")).thenReturn(AuthenticatedUser.from(user));
+
+        //Act
+        MockFilterChain chain = filter("token");
+
+        //Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(AuthenticatedUser.from(user), authenticatedPrincipal());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Check if a token without claims is resolved by login from the database")
+    void testLegacyTokenLookup() throws Exception {
+        //Arrange
+        init(0);
+        when(tokenService.validateToken("token")).thenReturn(new AuthenticatedUser(null, "usertest", null));
+        when(userRepository.findByLogin("usertest")).thenReturn(user);
+
+        //Act
+        MockFilterChain chain = filter("token");
+
+        //Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(AuthenticatedUser.from(user), authenticatedPrincipal());
+    }
+
+    @Test
+    @DisplayName("Check if the verify phase is always timed and the lookup phase only when the database is read")
+    void testPhaseTimers() throws Exception {
+        //Arrange
+        init(0);
+        when(tokenService.validateToken("token")).thenReturn(AuthenticatedUser.from(user));
+        when(tokenService.validateToken("legacy-token")).thenReturn(new AuthenticatedUser(null, "usertest", null));
+        when(userRepository.findByLogin("usertest")).thenReturn(user);
+
+        //Act
+        filter("token");
+        filter("legacy-token");
+
+        //Assert
+        assertEquals(2, meterRegistry.get("security.filter").tag("phase", "verify").timer().count());
+        assertEquals(1, meterRegistry.get("security.filter").tag("phase", "lookup").timer().count());
+    }
+
+    @Test
+    @DisplayName("Check if a token without claims of a user that no longer exists is rejected with 401")
+    void testLegacyTokenUserNotFound() throws Exception {
+        //Arrange
+        init(0);
+        when(tokenService.validateToken("token")).thenReturn(new AuthenticatedUser(null, "usertest", null));
+        when(userRepository.findByLogin("usertest")).thenReturn(null);
+
+        //Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = filter("token", response);
+
+        //Assert
+        assertNull(chain.getRequest());
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Check if revalidation reads the user once per revalidate-seconds and again after")
+    void testRevalidation() throws Exception {
+        //Arrange
+        init(60);
+        User promoted = new User(user.getId(), "usertest", "test", UserRole.ADMIN);
+        when(tokenService.validateToken("token")).thenReturn(AuthenticatedUser.from(user));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(promoted));
+
+        //Act
+        filter("token");
+        advance(Duration.ofSeconds(59));
+        filter("token");
+        verify(userRepository, times(1)).findById(user.getId());
+        advance(Duration.ofSeconds(2));
+        filter("token");
+
+        //Assert
+        verify(userRepository, times(2)).findById(user.getId());
+        assertEquals(UserRole.ADMIN, authenticatedPrincipal().role());
+    }
+
+    @Test
+    @DisplayName("Check if a valid token of a deleted user is rejected with 401 once revalidated")
+    void testRevalidationDeletedUser() throws Exception {
+        //Arrange
+        init(60);
+        when(tokenService.validateToken("token")).thenReturn(AuthenticatedUser.from(user));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+
+        //Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = filter("token", response);
+
+        //Assert
+        assertNull(chain.getRequest());
+        assertEquals(401, response.getStatus());
+    }
+
+    private void init(long revalidateSeconds) {
+        ReflectionTestUtils.setField(securityFilter, "entryPoint", new CustomAuthenticationEntryPoint());
+        ReflectionTestUtils.setField(securityFilter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(securityFilter, "revalidateSeconds", revalidateSeconds);
+        ReflectionTestUtils.setField(securityFilter, "ticker", (Ticker) nanos::get);
+        securityFilter.init();
+    }
+
+    private MockFilterChain filter(String token) throws Exception {
+        return filter(token, new MockHttpServletResponse());
+    }
+
+    private MockFilterChain filter(String token, MockHttpServletResponse response) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        securityFilter.doFilter(request, response, chain);
+        return chain;
+    }
+
+    private AuthenticatedUser authenticatedPrincipal() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
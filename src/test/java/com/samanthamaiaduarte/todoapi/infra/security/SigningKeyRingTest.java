@@ -0,0 +1,177 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SigningKeyRingTest {
+    private static final String SECRET = "configured-secret";
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+    @InjectMocks
+    private SigningKeyRing signingKeyRing;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Check if the configured secret is the only key without a keys file")
+    void testWithoutKeysFile() throws IOException {
+        //Arrange
+        init("");
+
+        //Act
+        SigningKeyRing.SigningKey result = signingKeyRing.activeKey();
+
+        //Assert
+        assertEquals(SigningKeyRing.DEFAULT_KID, result.kid());
+        assertDoesNotThrow(() -> signingKeyRing.verifier(null).verify(token(null, SECRET)));
+    }
+
+    @Test
+    @DisplayName("Check if new tokens are signed with the active key of the file")
+    void testActiveKid() throws IOException {
+        //Arrange
+        Path file = write("active=2025-07\nkeys.2025-07=new-secret\nkeys.2025-01=old-secret\n", 1);
+        init(file.toString());
+
+        //Act
+        SigningKeyRing.SigningKey result = signingKeyRing.activeKey();
+        String token = JWT.create().withKeyId(result.kid()).withIssuer("todoapi").sign(result.algorithm());
+
+        //Assert
+        assertEquals("2025-07", result.kid());
+        assertDoesNotThrow(() -> check("2025-07", token(null, "new-secret")));
+        assertDoesNotThrow(() -> signingKeyRing.verifier(JWT.decode(token).getKeyId()).verify(token));
+    }
+
+    @Test
+    @DisplayName("Check if a token signed with a listed key that isn't active still verifies")
+    void testNonActiveKey() throws IOException {
+        //Arrange
+        init(write("active=2025-07\nkeys.2025-07=new-secret\nkeys.2025-01=old-secret\n", 1).toString());
+
+        //Act & Assert
+        assertDoesNotThrow(() -> check("2025-01", token("2025-01", "old-secret")));
+        assertThrows(JWTVerificationException.class, () -> check("2025-01", token("2025-01", "new-secret")));
+        assertNull(signingKeyRing.verifier("2024-12"));
+    }
+
+    @Test
+    @DisplayName("Check if the configured secret stops verifying once the file lists its own keys")
+    void testConfiguredSecretRetired() throws IOException {
+        //Arrange
+        init(write("active=2025-07\nkeys.2025-07=new-secret\n", 1).toString());
+
+        //Act
+        JWTVerifier result = signingKeyRing.verifier(null);
+
+        //Assert
+        assertNull(result);
+    }
+
+    @Test
+    @DisplayName("Check if an empty keys.default line keeps the configured secret in the ring")
+    void testConfiguredSecretKept() throws IOException {
+        //Arrange
+        init(write("active=2025-07\nkeys.2025-07=new-secret\nkeys.default=\n", 1).toString());
+
+        //Act & Assert
+        assertDoesNotThrow(() -> signingKeyRing.verifier(null).verify(token(null, SECRET)));
+    }
+
+    @Test
+    @DisplayName("Check if a changed file is reloaded, a removed key rejected and the token cache cleared")
+    void testReload() throws IOException {
+        //Arrange
+        Path file = write("active=2025-01\nkeys.2025-01=old-secret\n", 1);
+        init(file.toString());
+
+        //Act
+        write("active=2025-07\nkeys.2025-07=new-secret\n", 2);
+        signingKeyRing.reload();
+
+        //Assert
+        assertEquals("2025-07", signingKeyRing.activeKey().kid());
+        assertNull(signingKeyRing.verifier("2025-01"));
+        assertDoesNotThrow(() -> check("2025-07", token("2025-07", "new-secret")));
+        verify(verifiedTokenCache).clear();
+    }
+
+    @Test
+    @DisplayName("Check if an unchanged modification time doesn't reload the file")
+    void testReloadUnchanged() throws IOException {
+        //Arrange
+        Path file = write("active=2025-01\nkeys.2025-01=old-secret\n", 1);
+        init(file.toString());
+
+        //Act
+        write("active=2025-07\nkeys.2025-07=new-secret\n", 1);
+        signingKeyRing.reload();
+
+        //Assert
+        assertEquals("2025-01", signingKeyRing.activeKey().kid());
+        verifyNoInteractions(verifiedTokenCache);
+    }
+
+    @Test
+    @DisplayName("Check if a file with an unknown active key id keeps the current ring")
+    void testReloadBadFile() throws IOException {
+        //Arrange
+        Path file = write("active=2025-01\nkeys.2025-01=old-secret\n", 1);
+        init(file.toString());
+
+        //Act
+        write("active=2025-09\nkeys.2025-07=new-secret\n", 2);
+        signingKeyRing.reload();
+
+        //Assert
+        assertEquals("2025-01", signingKeyRing.activeKey().kid());
+        assertDoesNotThrow(() -> check("2025-01", token("2025-01", "old-secret")));
+        verifyNoInteractions(verifiedTokenCache);
+    }
+
+    private void init(String keysFile) throws IOException {
+        ReflectionTestUtils.setField(signingKeyRing, "secret", SECRET);
+        ReflectionTestUtils.setField(signingKeyRing, "keysFile", keysFile);
+        signingKeyRing.init();
+    }
+
+    // The modification time is set explicitly, file systems with a coarse clock would otherwise see no change.
+    private Path write(String content, long modifiedSecond) throws IOException {
+        Path file = directory.resolve("keys.properties");
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochSecond(1_750_000_000L + modifiedSecond)));
+        return file;
+    }
+
+    private void check(String kid, String token) {
+        signingKeyRing.verifier(kid).verify(token);
+    }
+
+    private static String token(String kid, String secret) {
+        var builder = JWT.create().withIssuer("todoapi");
+        if(kid != null) builder.withKeyId(kid);
+        return builder.sign(Algorithm.HMAC256(secret));
+    }
+}
@@ -0,0 +1,144 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.exception.ApiTokenExpiredException;
+import com.samanthamaiaduarte.todoapi.exception.ApiTokenInvalidException;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+    private static final String SECRET = "test-secret-key";
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(verifiedTokenCache, "enabled", false);
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 100);
+        verifiedTokenCache.init();
+
+        SigningKeyRing signingKeyRing = new SigningKeyRing();
+        ReflectionTestUtils.setField(signingKeyRing, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(signingKeyRing, "secret", SECRET);
+        ReflectionTestUtils.setField(signingKeyRing, "keysFile", "");
+        ReflectionTestUtils.invokeMethod(signingKeyRing, "init");
+
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "expirationSeconds", 7200);
+        ReflectionTestUtils.setField(tokenService, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(tokenService, "signingKeyRing", signingKeyRing);
+    }
+
+    @Test
+    @DisplayName("Check if the id, login and role of the user come back from the token claims")
+    void testClaimsRoundTrip() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.ADMIN);
+        String token = tokenService.generateToken(user).access_token();
+
+        //Act
+        AuthenticatedUser result = tokenService.validateToken(token);
+
+        //Assert
+        assertEquals(new AuthenticatedUser(user.getId(), "usertest", UserRole.ADMIN), result);
+    }
+
+    @Test
+    @DisplayName("Check if token validation is timed as token.validate")
+    void testValidateTimer() {
+        //Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(tokenService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(meterRegistry));
+        TokenService timedTokenService = proxyFactory.getProxy();
+        String token = tokenService.generateToken(new User(UUID.randomUUID(), "usertest", "test", UserRole.USER)).access_token();
+
+        //Act
+        timedTokenService.validateToken(token);
+
+        //Assert
+        assertEquals(1, meterRegistry.get("token.validate").timer().count());
+    }
+
+    @Test
+    @DisplayName("Check if a token issued before the uid and role claims only carries the login")
+    void testLegacyToken() {
+        //Arrange
+        String token = JWT.create()
+                .withIssuer("todoapi")
+                .withSubject("usertest")
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        //Act
+        AuthenticatedUser result = tokenService.validateToken(token);
+
+        //Assert
+        assertNull(result.id());
+        assertNull(result.role());
+        assertEquals("usertest", result.login());
+    }
+
+    @Test
+    @DisplayName("Check if a signed token with an unknown role throws an ApiTokenInvalidException")
+    void testUnknownRole() {
+        //Arrange
+        String token = JWT.create()
+                .withIssuer("todoapi")
+                .withSubject("usertest")
+                .withClaim("uid", UUID.randomUUID().toString())
+                .withClaim("role", "ROOT")
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        //Act & Assert
+        assertThrows(ApiTokenInvalidException.class, () -> tokenService.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("Check if a token signed with another secret throws an ApiTokenInvalidException")
+    void testForeignSignature() {
+        //Arrange
+        String token = JWT.create()
+                .withIssuer("todoapi")
+                .withSubject("usertest")
+                .withClaim("uid", UUID.randomUUID().toString())
+                .withClaim("role", "ADMIN")
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256("another-secret"));
+
+        //Act & Assert
+        assertThrows(ApiTokenInvalidException.class, () -> tokenService.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("Check if an expired token throws an ApiTokenExpiredException")
+    void testExpiredToken() {
+        //Arrange
+        String token = JWT.create()
+                .withIssuer("todoapi")
+                .withSubject("usertest")
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        //Act & Assert
+        assertThrows(ApiTokenExpiredException.class, () -> tokenService.validateToken(token));
+    }
+}
@@ -0,0 +1,138 @@
+package com.samanthamaiaduarte.todoapi.infra.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final AuthenticatedUser principal = new AuthenticatedUser(UUID.randomUUID(), "usertest", UserRole.USER);
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = cache(true, 100);
+    }
+
+    @Test
+    @DisplayName("Check if a cached token is a hit and an unknown token a miss")
+    void testHitAndMiss() {
+        //Arrange
+        verifiedTokenCache.put("token-1", principal, Instant.now().plusSeconds(60));
+
+        //Act
+        AuthenticatedUser hit = verifiedTokenCache.get("token-1");
+        AuthenticatedUser miss = verifiedTokenCache.get("token-2");
+
+        //Assert
+        assertEquals(principal, hit);
+        assertNull(miss);
+        assertEquals(1, meterRegistry.get("token.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("token.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if a token is dropped once its exp is reached")
+    void testExpiry() {
+        //Arrange
+        verifiedTokenCache.put("token-1", principal, Instant.now().plusSeconds(60));
+
+        //Act
+        advance(Duration.ofSeconds(55));
+        AuthenticatedUser beforeExp = verifiedTokenCache.get("token-1");
+        advance(Duration.ofSeconds(10));
+        AuthenticatedUser afterExp = verifiedTokenCache.get("token-1");
+
+        //Assert
+        assertEquals(principal, beforeExp);
+        assertNull(afterExp);
+    }
+
+    @Test
+    @DisplayName("Check if a token already expired is never served")
+    void testExpiredOnPut() {
+        //Arrange
+        verifiedTokenCache.put("token-1", principal, Instant.now().minusSeconds(1));
+
+        //Act
+        AuthenticatedUser result = verifiedTokenCache.get("token-1");
+
+        //Assert
+        assertNull(result);
+    }
+
+    @Test
+    @DisplayName("Check if the cache never holds more than max-size tokens and counts what it evicts")
+    void testSizeBound() {
+        //Arrange
+        verifiedTokenCache = cache(true, 10);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+
+        //Act
+        for(int i = 0; i < 100; i++) verifiedTokenCache.put("token-" + i, principal, expiresAt);
+
+        //Assert
+        double size = meterRegistry.get("token.cache.size").gauge().value();
+        assertTrue(size <= 10);
+        assertEquals(100 - size, meterRegistry.get("token.cache.evictions").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if a disabled cache neither stores nor counts anything")
+    void testDisabled() {
+        //Arrange
+        verifiedTokenCache = cache(false, 100);
+
+        //Act
+        verifiedTokenCache.put("token-1", principal, Instant.now().plusSeconds(60));
+        AuthenticatedUser result = verifiedTokenCache.get("token-1");
+
+        //Assert
+        assertNull(result);
+        assertEquals(0, meterRegistry.get("token.cache.size").gauge().value());
+        assertEquals(0, meterRegistry.get("token.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if clear drops every token")
+    void testClear() {
+        //Arrange
+        verifiedTokenCache.put("token-1", principal, Instant.now().plusSeconds(60));
+
+        //Act
+        verifiedTokenCache.clear();
+
+        //Assert
+        assertNull(verifiedTokenCache.get("token-1"));
+    }
+
+    private VerifiedTokenCache cache(boolean enabled, int maxSize) {
+        meterRegistry = new SimpleMeterRegistry();
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ticker", (Ticker) nanos::get);
+        cache.init();
+        return cache;
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
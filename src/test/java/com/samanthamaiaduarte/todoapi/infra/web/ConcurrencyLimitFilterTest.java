@@ -0,0 +1,103 @@
+package com.samanthamaiaduarte.todoapi.infra.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Check if a request that gets no slot in time is answered 503 with Retry-After and a JSON error")
+    void testRejected() throws Exception {
+        //Arrange
+        ConcurrencyLimitFilter filter = filter(0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        //Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), response, chain);
+
+        //Assert
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals("application/json;charset=UTF-8", response.getContentType());
+        assertEquals(503, body.get("statusCode").asInt());
+        assertEquals("SERVICE_UNAVAILABLE", body.get("status").asText());
+        assertEquals("Server is busy, try again later.", body.get("errorMessage").asText());
+        assertTrue(body.get("timestamp").isTextual());
+        assertEquals(1, meterRegistry.get("http.server.concurrency.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if the slot is given back when the rest of the chain throws")
+    void testReleasedOnException() throws Exception {
+        //Arrange
+        ConcurrencyLimitFilter filter = filter(1);
+        MockFilterChain failing = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws ServletException {
+                throw new ServletException("handler failed");
+            }
+        };
+
+        //Act
+        assertThrows(ServletException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), new MockHttpServletResponse(), failing));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), new MockHttpServletResponse(), chain);
+
+        //Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(0, meterRegistry.get("http.server.concurrency.in.flight").gauge().value());
+        assertEquals(0, meterRegistry.get("http.server.concurrency.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if an async dispatch goes through without taking a slot")
+    void testAsyncDispatch() throws Exception {
+        //Arrange
+        ConcurrencyLimitFilter filter = filter(0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/export");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        //Act
+        filter.doFilter(request, response, chain);
+
+        //Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, meterRegistry.get("http.server.concurrency.rejected").counter().count());
+    }
+
+    private ConcurrencyLimitFilter filter(int maxRequests) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(filter, "maxRequests", maxRequests);
+        ReflectionTestUtils.setField(filter, "maxWaitMs", 0L);
+        ReflectionTestUtils.setField(filter, "retryAfterSeconds", 2L);
+        filter.init();
+        return filter;
+    }
+}
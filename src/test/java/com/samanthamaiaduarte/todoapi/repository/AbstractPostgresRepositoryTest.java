@@ -0,0 +1,25 @@
+package com.samanthamaiaduarte.todoapi.repository;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Repository tests against Postgres migrated by Flyway, for what H2 can't run: UPDATE/DELETE ... RETURNING,
+ * the plpgsql triggers and the migrations themselves. All subclasses share one database and one Spring
+ * context; every test still rolls back.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = "spring.flyway.enabled=true")
+abstract class AbstractPostgresRepositoryTest {
+    private static final String JDBC_URL = PostgresTestDatabase.createDatabase();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> JDBC_URL);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> PostgresTestDatabase.USERNAME);
+        registry.add("spring.datasource.password", () -> PostgresTestDatabase.PASSWORD);
+    }
+}
@@ -0,0 +1,127 @@
+package com.samanthamaiaduarte.todoapi.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * V9 to V11 move tasks.due_date from TIMESTAMP to DATE: a synced column, a batched backfill, then the swap.
+ * Each test migrates an empty database of its own step by step, with rows written in between.
+ */
+class DueDateMigrationPostgresTest {
+    // More than one batch of the V10 backfill.
+    private static final int ROWS = 25_000;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(PostgresTestDatabase.createDatabase(), PostgresTestDatabase.USERNAME, PostgresTestDatabase.PASSWORD);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        migrate("8");
+        userId = jdbcTemplate.queryForObject("INSERT INTO users (login, password, role) VALUES ('usertest', 'test', 'USER') RETURNING id", UUID.class);
+    }
+
+    @Test
+    @DisplayName("Check if rows written before V9 are backfilled, rows written after it synced, and both keep their day")
+    void testBackfillAndSync() {
+        //Arrange
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, due_date, completed, user_id)
+                SELECT 'Test task' || i, 'Task test for the due date migration', timestamp '2025-06-28 23:30' + i * interval '1 hour', false, ?
+                FROM generate_series(1, ?) i""", userId, ROWS);
+        migrate("9");
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, due_date, completed, user_id)
+                VALUES ('Written after V9', 'Task test for the due date migration', timestamp '2025-07-01 12:00', false, ?)""", userId);
+        jdbcTemplate.update("UPDATE tasks SET due_date = timestamp '2025-08-15 08:00' WHERE title = 'Test task1'");
+
+        //Act
+        migrate("11");
+
+        //Assert
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM tasks
+                WHERE title LIKE 'Test task%' AND title <> 'Test task1'
+                AND due_date <> (timestamp '2025-06-28 23:30' + substring(title FROM 10)::int * interval '1 hour')::date""", Long.class));
+        assertEquals(LocalDate.of(2025, 8, 15), dueDate("Test task1"));
+        assertEquals(LocalDate.of(2025, 7, 1), dueDate("Written after V9"));
+        assertEquals(ROWS + 1L, jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Long.class));
+    }
+
+    @Test
+    @DisplayName("Check if the swap leaves a NOT NULL DATE due_date, its index, and nothing of the intermediate steps")
+    void testSwap() {
+        //Arrange
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, due_date, completed, user_id)
+                VALUES ('Test task', 'Task test for the due date migration', timestamp '2025-06-28 10:00', false, ?)""", userId);
+
+        //Act
+        migrate("11");
+
+        //Assert
+        Map<String, Object> column = jdbcTemplate.queryForMap(
+                "SELECT data_type, is_nullable FROM information_schema.columns WHERE table_name = 'tasks' AND column_name = 'due_date'");
+        assertEquals("date", column.get("data_type"));
+        assertEquals("NO", column.get("is_nullable"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns WHERE table_name = 'tasks' AND column_name = 'due_day'", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_trigger WHERE tgname = 'tasks_sync_due_day'", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = 'tasks_due_day_not_null'", Long.class));
+        assertEquals(List.of("CREATE INDEX idx_tasks_user_completed_due_date ON public.tasks USING btree (user_id, completed, due_date, id)"),
+                jdbcTemplate.queryForList("SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_tasks_user_completed_due_date'", String.class));
+        assertTrue(jdbcTemplate.queryForObject("""
+                SELECT indisvalid FROM pg_index WHERE indexrelid = 'idx_tasks_user_completed_due_date'::regclass""", Boolean.class));
+    }
+
+    @Test
+    @DisplayName("Check if the swap gives up after lock_timeout instead of queueing behind a transaction holding the table")
+    void testSwapLockTimeout() throws Exception {
+        //Arrange
+        migrate("10");
+
+        //Act & Assert
+        try(var blocker = dataSource.getConnection(); var statement = blocker.createStatement()) {
+            blocker.setAutoCommit(false);
+            statement.execute("SELECT count(*) FROM tasks");
+
+            Exception exception = assertThrows(Exception.class, () -> migrate("11"));
+            assertTrue(exception.getMessage().contains("lock timeout"), exception.getMessage());
+            blocker.rollback();
+        }
+
+        migrate("11");
+        assertEquals("date", jdbcTemplate.queryForObject(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = 'tasks' AND column_name = 'due_date'", String.class));
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .dataSource(dataSource)
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private LocalDate dueDate(String title) {
+        return jdbcTemplate.queryForObject("SELECT due_date FROM tasks WHERE title = ?", Date.class, title).toLocalDate();
+    }
+}
@@ -0,0 +1,56 @@
+package com.samanthamaiaduarte.todoapi.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One embedded Postgres server for the whole test run, started on first use. Every caller gets an empty
+ * database of its own, so tests that migrate or commit don't see each other's rows.
+ */
+public final class PostgresTestDatabase {
+    public static final String USERNAME = "postgres";
+    public static final String PASSWORD = "";
+
+    private static final AtomicInteger databases = new AtomicInteger();
+    private static EmbeddedPostgres server;
+
+    private PostgresTestDatabase() { }
+
+    public static String createDatabase() {
+        String name = "todoapi_" + databases.incrementAndGet();
+        try(Connection connection = server().getPostgresDatabase().getConnection();
+            Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + name);
+        }
+        catch (SQLException exception) {
+            throw new IllegalStateException("Could not create test database " + name, exception);
+        }
+        return server().getJdbcUrl(USERNAME, name);
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if(server == null) {
+            try {
+                server = EmbeddedPostgres.start();
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException("Could not start embedded Postgres", exception);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                }
+                catch (IOException ignored) {
+                    // The process is exiting anyway.
+                }
+            }));
+        }
+        return server;
+    }
+}
@@ -0,0 +1,35 @@
+package com.samanthamaiaduarte.todoapi.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares. Hibernate creates the inspector itself from the
+ * {@code hibernate.session_factory.statement_inspector} property, so the statements are kept statically.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    public static void reset() {
+        statements.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    public static int selectedColumns(String sql) {
+        int from = sql.indexOf(" from ");
+        String columns = sql.substring("select ".length(), from);
+        return columns.split(",").length;
+    }
+}
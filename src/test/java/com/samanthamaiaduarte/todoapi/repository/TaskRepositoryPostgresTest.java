@@ -0,0 +1,199 @@
+package com.samanthamaiaduarte.todoapi.repository;
+
+import com.samanthamaiaduarte.todoapi.domain.task.Task;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskRequestDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.exception.TaskForbiddenException;
+import com.samanthamaiaduarte.todoapi.exception.TaskNotFoundException;
+import com.samanthamaiaduarte.todoapi.infra.cache.TaskCache;
+import com.samanthamaiaduarte.todoapi.infra.mapper.TaskMapper;
+import com.samanthamaiaduarte.todoapi.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TaskRepositoryPostgresTest extends AbstractPostgresRepositoryTest {
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User otherUser;
+    private Task task;
+    private Task otherTask;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("usertest", "test", UserRole.USER));
+        otherUser = entityManager.persist(new User("otheruser", "test", UserRole.USER));
+        task = entityManager.persist(new Task(null, "Test task1", "Task test for TaskRepository1", LocalDate.now().plusDays(1), false, user));
+        otherTask = entityManager.persist(new Task(null, "Other task", "Task of another user", LocalDate.now().plusDays(2), false, otherUser));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Check if updating an own task returns the updated row and bumps its version")
+    void testUpdateByIdAndUserId() {
+        //Act
+        Optional<Task> result = taskRepository.updateByIdAndUserId(task.getId(), user.getId(), "Updated", "Updated description", LocalDate.now().plusDays(5));
+
+        //Assert
+        assertTrue(result.isPresent());
+        assertEquals(task.getId(), result.get().getId());
+        assertEquals("Updated", result.get().getTitle());
+        assertEquals("Updated description", result.get().getDescription());
+        assertEquals(LocalDate.now().plusDays(5), result.get().getDueDate());
+        assertFalse(result.get().getCompleted());
+        assertEquals(1L, taskRepository.findVersionByIdAndUserId(task.getId(), user.getId()));
+    }
+
+    @Test
+    @DisplayName("Check if updating a task of another user returns nothing and leaves the row as it was")
+    void testUpdateByIdAndUserIdOtherUser() {
+        //Act
+        Optional<Task> result = taskRepository.updateByIdAndUserId(otherTask.getId(), user.getId(), "Updated", "Updated description", LocalDate.now().plusDays(5));
+
+        //Assert
+        TaskResponseDTO unchanged = taskRepository.findDtoByIdAndUserId(otherTask.getId(), otherUser.getId());
+        assertTrue(result.isEmpty());
+        assertEquals("Other task", unchanged.title());
+        assertEquals(0L, taskRepository.findVersionByIdAndUserId(otherTask.getId(), otherUser.getId()));
+    }
+
+    @Test
+    @DisplayName("Check if the service answers 403 for a task of another user and 404 for an unknown task")
+    void testUpdateTaskForbiddenOrNotFound() {
+        //Arrange
+        TaskService taskService = taskService();
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        TaskRequestDTO data = new TaskRequestDTO("Updated", "Updated description", LocalDate.now().plusDays(5));
+
+        //Act & Assert
+        assertThrows(TaskForbiddenException.class, () -> taskService.updateTask(otherTask.getId(), data, principal));
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(UUID.randomUUID(), data, principal));
+        assertEquals("Updated", taskService.updateTask(task.getId(), data, principal).title());
+    }
+
+    @Test
+    @DisplayName("Check if deleting tasks removes only the owner's and leaves a tombstone after the last change of each")
+    void testDeleteAllByIdAndUserId() {
+        //Arrange
+        long changeSeq = changeSeq(task.getId());
+
+        //Act
+        List<UUID> result = taskRepository.deleteAllByIdAndUserId(List.of(task.getId(), otherTask.getId()), user.getId());
+
+        //Assert
+        assertEquals(List.of(task.getId()), result);
+        assertFalse(taskRepository.existsById(task.getId()));
+        assertTrue(taskRepository.existsById(otherTask.getId()));
+        assertEquals(user.getId(), jdbcTemplate.queryForObject("SELECT user_id FROM task_tombstones WHERE task_id = ?", UUID.class, task.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM task_tombstones WHERE task_id = ?", Integer.class, otherTask.getId()));
+
+        List<TaskRepository.TaskChange> changes = taskRepository.findChangesSince(user.getId(), changeSeq, 10);
+        assertEquals(1, changes.size());
+        assertEquals(task.getId(), changes.getFirst().getId());
+        assertTrue(changes.getFirst().getDeleted());
+        assertTrue(changes.getFirst().getChangeSeq() > changeSeq);
+    }
+
+    @Test
+    @DisplayName("Check if only tombstones older than the retention are purged and the horizon moves past them")
+    void testPurgeTombstones() {
+        //Arrange
+        Task recent = entityManager.persist(new Task(null, "Test task2", "Task test for TaskRepository2", LocalDate.now().plusDays(2), false, user));
+        entityManager.flush();
+        taskRepository.deleteAllByIdAndUserId(List.of(task.getId(), recent.getId()), user.getId());
+        jdbcTemplate.update("UPDATE task_tombstones SET deleted_at = now() - INTERVAL '31 days' WHERE task_id = ?", task.getId());
+        long purgedSeq = jdbcTemplate.queryForObject("SELECT change_seq FROM task_tombstones WHERE task_id = ?", Long.class, task.getId());
+
+        //Act
+        long result = taskRepository.purgeTombstones(30, 10);
+        long again = taskRepository.purgeTombstones(30, 10);
+
+        //Assert
+        assertEquals(1, result);
+        assertEquals(0, again);
+        assertEquals(purgedSeq, taskRepository.findChangesHorizon());
+        assertEquals(List.of(recent.getId()), jdbcTemplate.queryForList("SELECT task_id FROM task_tombstones WHERE user_id = ?", UUID.class, user.getId()));
+    }
+
+    @Test
+    @DisplayName("Check if a million tasks are exported one per line while the rows still come through a server-side cursor")
+    void testExportTasksMillionRows() throws IOException {
+        //Arrange
+        int rows = 1_000_000;
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, due_date, completed, user_id)
+                SELECT 'Test task' || i, 'Task test for export', current_date + i % 365, i % 3 = 0, ?
+                FROM generate_series(1, ?) i""", user.getId(), rows);
+        AtomicLong lines = new AtomicLong();
+        AtomicLong openCursors = new AtomicLong(-1);
+
+        // Asked on the same connection once the first task is written: the export query is still open as a
+        // named portal, fetched a batch at a time, instead of having been read whole into the heap.
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if(b != '\n') return;
+                if(lines.incrementAndGet() == 1) {
+                    openCursors.set(jdbcTemplate.queryForObject(
+                            "SELECT count(*) FROM pg_cursors WHERE name <> '' AND statement ILIKE '%from tasks%'", Long.class));
+                }
+            }
+        };
+
+        //Act
+        taskService().exportTasks(AuthenticatedUser.from(user), output);
+
+        //Assert
+        assertEquals(rows + 1, lines.get());
+        assertEquals(1, openCursors.get());
+    }
+
+    // The real repositories and mapper; the cache and the events only act after commit, which never comes here.
+    private TaskService taskService() {
+        TaskService taskService = new TaskService();
+        ReflectionTestUtils.setField(taskService, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(taskService, "taskMapper", Mappers.getMapper(TaskMapper.class));
+        ReflectionTestUtils.setField(taskService, "taskCache", mock(TaskCache.class));
+        ReflectionTestUtils.setField(taskService, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(taskService, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        return taskService;
+    }
+
+    private long changeSeq(UUID taskId) {
+        return jdbcTemplate.queryForObject("SELECT change_seq FROM tasks WHERE id = ?", Long.class, taskId);
+    }
+}
@@ -0,0 +1,195 @@
+package com.samanthamaiaduarte.todoapi.repository;
+
+import com.samanthamaiaduarte.todoapi.domain.task.Task;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todoapi;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.data-locations=classpath:schema-unmapped-columns.sql",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.samanthamaiaduarte.todoapi.repository.SqlStatementCounter"
+})
+class TaskRepositoryTest {
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("usertest", "test", UserRole.USER));
+        task = entityManager.persist(new Task(null, "Test task1", "Task test for TaskRepository1", LocalDate.now().plusDays(1), false, user));
+        entityManager.persist(new Task(null, "Test task2", "Task test for TaskRepository2", LocalDate.now().plusDays(2), false, user));
+        entityManager.persist(new Task(null, "Test task3", "Task test for TaskRepository3", LocalDate.now().plusDays(3), true, user));
+        entityManager.flush();
+        entityManager.clear();
+
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Check if a page of tasks is read with a single statement selecting only the TaskResponseDTO columns")
+    void testFindPage() {
+        //Act
+        List<TaskResponseDTO> result = taskRepository.findPage(user.getId(), false, Limit.of(10));
+
+        //Assert
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(2, result.size());
+        assertEquals(1, statements.size());
+        assertEquals(5, SqlStatementCounter.selectedColumns(statements.getFirst()));
+        assertFalse(statements.getFirst().contains("users"));
+    }
+
+    @Test
+    @DisplayName("Check if the next page is read with a single statement selecting only the TaskResponseDTO columns")
+    void testFindPageAfter() {
+        //Act
+        List<TaskResponseDTO> result = taskRepository.findPageAfter(user.getId(), false, task.getDueDate(), task.getId(), Limit.of(10));
+
+        //Assert
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(1, result.size());
+        assertEquals(1, statements.size());
+        assertEquals(5, SqlStatementCounter.selectedColumns(statements.getFirst()));
+        assertFalse(statements.getFirst().contains("users"));
+    }
+
+    @Test
+    @DisplayName("Check if only the tasks due within the range, both bounds included, are read")
+    void testFindDuePage() {
+        //Act
+        List<TaskResponseDTO> result = taskRepository.findDuePage(user.getId(), false, LocalDate.now().plusDays(2), LocalDate.now().plusDays(3), Limit.of(10));
+        List<TaskResponseDTO> completed = taskRepository.findDuePage(user.getId(), true, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), Limit.of(10));
+
+        //Assert
+        assertEquals(1, result.size());
+        assertEquals(LocalDate.now().plusDays(2), result.getFirst().dueDate());
+        assertEquals(1, completed.size());
+        assertEquals(5, SqlStatementCounter.selectedColumns(SqlStatementCounter.statements().getFirst()));
+    }
+
+    @Test
+    @DisplayName("Check if the next page of a due range stops at the end of the range")
+    void testFindDuePageAfter() {
+        //Act
+        List<TaskResponseDTO> result = taskRepository.findDuePageAfter(user.getId(), false, LocalDate.now().plusDays(1), task.getDueDate(), task.getId(), Limit.of(10));
+        List<TaskResponseDTO> wider = taskRepository.findDuePageAfter(user.getId(), false, LocalDate.now().plusDays(2), task.getDueDate(), task.getId(), Limit.of(10));
+
+        //Assert
+        assertTrue(result.isEmpty());
+        assertEquals(1, wider.size());
+    }
+
+    @Test
+    @DisplayName("Check if the open due views select only id, title and due date and skip completed tasks")
+    void testFindOpenDue() {
+        //Act
+        List<TaskDueDTO> until = taskRepository.findOpenDueUntil(user.getId(), LocalDate.now().plusDays(3), Limit.of(10));
+        List<TaskDueDTO> between = taskRepository.findOpenDueBetween(user.getId(), LocalDate.now().plusDays(2), LocalDate.now().plusDays(3), Limit.of(10));
+        List<TaskDueDTO> after = taskRepository.findOpenDueAfter(user.getId(), LocalDate.now().plusDays(3), task.getDueDate(), task.getId(), Limit.of(10));
+
+        //Assert
+        assertEquals(2, until.size());
+        assertEquals(1, between.size());
+        assertEquals(1, after.size());
+        assertEquals(3, SqlStatementCounter.selectedColumns(SqlStatementCounter.statements().getFirst()));
+    }
+
+    @Test
+    @DisplayName("Check if a single task is read with a single statement selecting only the TaskResponseDTO columns")
+    void testFindDtoByIdAndUserId() {
+        //Act
+        TaskResponseDTO result = taskRepository.findDtoByIdAndUserId(task.getId(), user.getId());
+
+        //Assert
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(task.getId(), result.id());
+        assertEquals(1, statements.size());
+        assertEquals(5, SqlStatementCounter.selectedColumns(statements.getFirst()));
+        assertFalse(statements.getFirst().contains("users"));
+    }
+
+    @Test
+    @DisplayName("Check if new tasks and users get version 7 ids that grow in insertion order")
+    void testUuidV7Ids() {
+        //Act
+        Task next = entityManager.persist(new Task(null, "Test task4", "Task test for TaskRepository4", LocalDate.now(), false, user));
+
+        //Assert
+        assertEquals(7, user.getId().version());
+        assertEquals(7, task.getId().version());
+        assertEquals(2, task.getId().variant());
+        assertTrue(user.getId().compareTo(task.getId()) < 0);
+        assertTrue(task.getId().compareTo(next.getId()) < 0);
+    }
+
+    @Test
+    @DisplayName("Check if loading a task doesn't load its owner")
+    void testFindById() {
+        //Act
+        Task result = taskRepository.findById(task.getId()).orElseThrow();
+
+        //Assert
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(1, statements.size());
+        assertFalse(statements.getFirst().contains("users"));
+        assertFalse(Hibernate.isInitialized(result.getUser()));
+        assertEquals(user.getId(), result.getUser().getId());
+    }
+
+    @Test
+    @DisplayName("Check if completing a task is a single statement that only matches tasks of the owner")
+    void testCompleteByIdAndUserId() {
+        //Act
+        int notOwned = taskRepository.completeByIdAndUserId(task.getId(), UUID.randomUUID());
+        int owned = taskRepository.completeByIdAndUserId(task.getId(), user.getId());
+
+        //Assert
+        assertEquals(0, notOwned);
+        assertEquals(1, owned);
+        assertEquals(2, SqlStatementCounter.statements().size());
+        assertEquals(1L, taskRepository.findVersionByIdAndUserId(task.getId(), user.getId()));
+    }
+
+    @Test
+    @DisplayName("Check if the version of a task is only visible to its owner")
+    void testFindVersionByIdAndUserId() {
+        //Act
+        Long owned = taskRepository.findVersionByIdAndUserId(task.getId(), user.getId());
+        Long notOwned = taskRepository.findVersionByIdAndUserId(task.getId(), UUID.randomUUID());
+
+        //Assert
+        assertEquals(0L, owned);
+        assertNull(notOwned);
+    }
+}
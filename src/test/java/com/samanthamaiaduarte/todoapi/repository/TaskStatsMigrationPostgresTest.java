@@ -0,0 +1,61 @@
+package com.samanthamaiaduarte.todoapi.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * V14 creates the stats triggers first and then backfills the counters of the tasks already there, a batch of
+ * users per transaction. Migrated here on an empty database of its own, with users and tasks written before.
+ */
+class TaskStatsMigrationPostgresTest {
+    // More than one backfill batch.
+    private static final int USERS = 1_200;
+
+    @Test
+    @DisplayName("Check if the backfill gives every user counters of the tasks written before V14, over several batches")
+    void testBackfill() {
+        //Arrange
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(PostgresTestDatabase.createDatabase(), PostgresTestDatabase.USERNAME, PostgresTestDatabase.PASSWORD);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        migrate(dataSource, "13");
+        jdbcTemplate.update("INSERT INTO users (login, password, role) SELECT 'user' || i, 'test', 'USER' FROM generate_series(1, ?) i", USERS);
+        // Every user but the last has one overdue, one due tomorrow and one completed task.
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, due_date, completed, user_id)
+                SELECT 'Test task', 'Task test for the stats backfill', current_date + d.offset_days, d.completed, u.id
+                FROM users u
+                CROSS JOIN (VALUES (-1, false), (1, false), (-3, true)) AS d(offset_days, completed)
+                WHERE u.login <> 'user' || ?""", USERS);
+
+        //Act
+        migrate(dataSource, "14");
+
+        //Assert
+        assertEquals(USERS, jdbcTemplate.queryForObject("SELECT count(*) FROM task_stats", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM task_stats s JOIN users u ON u.id = s.user_id
+                WHERE u.login <> 'user' || ?
+                AND (s.open_count, s.completed_count, s.overdue_count, s.stats_date) <> (2, 1, 1, current_date)""", Integer.class, USERS));
+        assertEquals(Map.of("open_count", 0L, "completed_count", 0L, "overdue_count", 0L), jdbcTemplate.queryForMap("""
+                SELECT s.open_count, s.completed_count, s.overdue_count
+                FROM task_stats s JOIN users u ON u.id = s.user_id WHERE u.login = 'user' || ?""", USERS));
+        assertEquals(2L * (USERS - 1), jdbcTemplate.queryForObject("SELECT sum(open_count) FROM task_open_due_dates", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT count(*) FROM pg_trigger WHERE tgname LIKE 'tasks_stats_%'", Integer.class));
+    }
+
+    private static void migrate(DriverManagerDataSource dataSource, String target) {
+        Flyway.configure()
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .dataSource(dataSource)
+                .target(target)
+                .load()
+                .migrate();
+    }
+}
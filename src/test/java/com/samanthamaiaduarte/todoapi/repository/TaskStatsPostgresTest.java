@@ -0,0 +1,170 @@
+package com.samanthamaiaduarte.todoapi.repository;
+
+import com.samanthamaiaduarte.todoapi.domain.task.Task;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The counters kept by the V14 triggers, read back through findStats after each kind of write.
+ * The user starts with an overdue, a due today, a due tomorrow and a completed task.
+ */
+class TaskStatsPostgresTest extends AbstractPostgresRepositoryTest {
+    private static final UUID FIRST = new UUID(0, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+
+    private User user;
+    private Task overdue;
+    private Task dueToday;
+    private Task dueTomorrow;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("usertest", "test", UserRole.USER));
+        overdue = entityManager.persist(new Task(null, "Overdue task", "Task test for the stats", today.minusDays(1), false, user));
+        dueToday = entityManager.persist(new Task(null, "Due today task", "Task test for the stats", today, false, user));
+        dueTomorrow = entityManager.persist(new Task(null, "Due tomorrow task", "Task test for the stats", today.plusDays(1), false, user));
+        entityManager.persist(new Task(null, "Completed task", "Task test for the stats", today.minusDays(3), true, user));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Check if inserted tasks are counted as open, completed, overdue and due today")
+    void testInsert() {
+        //Act
+        TaskRepository.TaskStats result = taskRepository.findStats(user.getId(), today);
+
+        //Assert
+        assertStats(3, 1, 1, 1, result);
+    }
+
+    @Test
+    @DisplayName("Check if a batch insert is counted once per row, grouped by due date")
+    void testBatchInsert() {
+        //Act
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, due_date, completed, user_id)
+                SELECT 'Batch task' || i, 'Task test for the stats', current_date + (i % 3) - 1, i % 4 = 0, ?
+                FROM generate_series(1, 100) i""", user.getId());
+
+        //Assert
+        // i % 3 = 0 is overdue, 1 due today, 2 due tomorrow; every fourth task is completed.
+        long completed = 100 / 4;
+        long overdueOpen = countOpen(0);
+        long dueTodayOpen = countOpen(1);
+        assertStats(3 + 100 - completed, 1 + completed, 1 + overdueOpen, 1 + dueTodayOpen, taskRepository.findStats(user.getId(), today));
+        assertEquals(100 - completed - overdueOpen - dueTodayOpen + 1, openOn(today.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Check if completing several tasks at once moves them from open to completed")
+    void testBulkComplete() {
+        //Act
+        taskRepository.completeAllByIdAndUserId(List.of(overdue.getId(), dueToday.getId()), user.getId());
+
+        //Assert
+        assertStats(1, 3, 0, 0, taskRepository.findStats(user.getId(), today));
+        assertEquals(0, openOn(today));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM task_open_due_dates WHERE user_id = ? AND due_date <= current_date", Long.class, user.getId()));
+    }
+
+    @Test
+    @DisplayName("Check if tasks deleted through the tombstone CTE are taken off the counters")
+    void testDelete() {
+        //Act
+        taskRepository.deleteAllByIdAndUserId(List.of(overdue.getId(), dueTomorrow.getId()), user.getId());
+
+        //Assert
+        assertStats(1, 1, 0, 1, taskRepository.findStats(user.getId(), today));
+        assertEquals(0, openOn(today.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Check if moving the due date of an open task moves it between the due dates")
+    void testDueDateUpdate() {
+        //Act
+        taskRepository.updateByIdAndUserId(dueTomorrow.getId(), user.getId(), "Due tomorrow task", "Task test for the stats", today.minusDays(2));
+
+        //Assert
+        assertStats(3, 1, 2, 1, taskRepository.findStats(user.getId(), today));
+        assertEquals(0, openOn(today.plusDays(1)));
+        assertEquals(1, openOn(today.minusDays(2)));
+    }
+
+    @Test
+    @DisplayName("Check if tasks become overdue as days pass, both when read and when the next write rolls the counters")
+    void testDayRollover() {
+        //Arrange
+        // Counters last moved yesterday, when the task due yesterday wasn't overdue yet.
+        jdbcTemplate.update("UPDATE task_stats SET stats_date = current_date - 1, overdue_count = 0 WHERE user_id = ?", user.getId());
+
+        //Act
+        TaskRepository.TaskStats beforeWrite = taskRepository.findStats(user.getId(), today);
+        TaskRepository.TaskStats twoDaysLater = taskRepository.findStats(user.getId(), today.plusDays(2));
+        entityManager.persist(new Task(null, "Written today", "Task test for the stats", today.plusDays(5), false, user));
+        entityManager.flush();
+
+        //Assert
+        assertStats(3, 1, 1, 1, beforeWrite);
+        assertStats(3, 1, 3, 0, twoDaysLater);
+        assertEquals(today, jdbcTemplate.queryForObject("SELECT stats_date FROM task_stats WHERE user_id = ?", LocalDate.class, user.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT overdue_count FROM task_stats WHERE user_id = ?", Long.class, user.getId()));
+        assertStats(4, 1, 1, 1, taskRepository.findStats(user.getId(), today));
+    }
+
+    @Test
+    @DisplayName("Check if the reconciliation recomputes counters that drifted and reports them repaired once")
+    void testReconcileRepair() {
+        //Arrange
+        jdbcTemplate.update("UPDATE task_stats SET open_count = 42, overdue_count = 7 WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM task_open_due_dates WHERE user_id = ?", user.getId());
+
+        //Act
+        TaskRepository.TaskStatsReconcile first = taskRepository.reconcileStats(FIRST, 500);
+        TaskRepository.TaskStatsReconcile last = taskRepository.reconcileStats(first.getLastUserId(), 500);
+
+        //Assert
+        assertTrue(first.getLocked());
+        assertEquals(1, first.getRepaired());
+        assertNull(last.getLastUserId());
+        assertStats(3, 1, 1, 1, taskRepository.findStats(user.getId(), today));
+        assertEquals(0, taskRepository.reconcileStats(FIRST, 500).getRepaired());
+    }
+
+    private long countOpen(int remainder) {
+        long count = 0;
+        for(int i = 1; i <= 100; i++) if(i % 3 == remainder && i % 4 != 0) count++;
+        return count;
+    }
+
+    private long openOn(LocalDate dueDate) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(sum(open_count), 0) FROM task_open_due_dates WHERE user_id = ? AND due_date = ?",
+                Long.class, user.getId(), dueDate);
+    }
+
+    private static void assertStats(long open, long completed, long overdue, long dueToday, TaskRepository.TaskStats stats) {
+        assertEquals(List.of(open, completed, overdue, dueToday),
+                List.of(stats.getOpen(), stats.getCompleted(), stats.getOverdue(), stats.getDueToday()));
+    }
+}
@@ -4,8 +4,10 @@ import com.samanthamaiaduarte.todoapi.domain.user.LoginResponseDTO;
 import com.samanthamaiaduarte.todoapi.domain.user.RegisterDTO;
 import com.samanthamaiaduarte.todoapi.domain.user.User;
 import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.exception.ServiceBusyException;
 import com.samanthamaiaduarte.todoapi.exception.UserAlreadyExistsException;
 import com.samanthamaiaduarte.todoapi.exception.UserNotFoundException;
+import com.samanthamaiaduarte.todoapi.infra.security.PasswordHashingExecutor;
 import com.samanthamaiaduarte.todoapi.infra.security.TokenService;
 import com.samanthamaiaduarte.todoapi.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -21,9 +24,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,44 +41,58 @@ class AuthenticationServiceTest {
     private TokenService tokenService;
     @Mock
     private UserRepository repository;
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     @InjectMocks
     private AuthenticationService authenticationService;
 
+    private void runHashingInline() throws Exception {
+        when(passwordHashingExecutor.execute(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1, Callable.class).call());
+    }
+
     @Test
     @DisplayName("Check if login returns a valid token when credentials are correct")
-    void testLogin1() {
+    void testLogin1() throws Exception {
         //Arrange
         String username = "usertest";
         String password = "password";
         User user = new User(UUID.randomUUID(), username, password, UserRole.USER);
-        LoginResponseDTO expectedToken = new LoginResponseDTO(LocalDateTime.now().plusHours(2), "bearer", "token", 7200);
+        LoginResponseDTO expectedToken = new LoginResponseDTO(LocalDateTime.now().plusHours(2), "bearer", "token", 7200, null);
         Authentication auth = mock(Authentication.class);
 
         var usernamePassword = new UsernamePasswordAuthenticationToken(username, password);
 
+        runHashingInline();
         when(authenticationManager.authenticate(usernamePassword)).thenReturn(auth);
         when(auth.getPrincipal()).thenReturn(user);
         when(tokenService.generateToken(user)).thenReturn(expectedToken);
+        when(refreshTokenService.issue(user)).thenReturn("refresh-token");
 
         //Act
         LoginResponseDTO result = authenticationService.login(username, password);
 
         //Assert
-        assertEquals(expectedToken, result);
+        assertEquals(expectedToken.withRefreshToken("refresh-token"), result);
         verify(authenticationManager).authenticate(usernamePassword);
         verify(auth).getPrincipal();
         verify(tokenService).generateToken(user);
+        verify(refreshTokenService).issue(user);
     }
 
     @Test
     @DisplayName("Check if login throws a UserNotFoundException when credentials are incorrect")
-    void testLogin2() {
+    void testLogin2() throws Exception {
         //Arrange
         String username = "usertest";
         String password = "password";
 
         var usernamePassword = new UsernamePasswordAuthenticationToken(username, password);
 
+        runHashingInline();
         when(authenticationManager.authenticate(usernamePassword)).thenThrow(new BadCredentialsException("Credentials are invalid."));
 
         //Act & Assert
@@ -86,11 +105,12 @@ class AuthenticationServiceTest {
 
     @Test
     @DisplayName("Check if a new user is registered successfully")
-    void testRegister1() {
+    void testRegister1() throws Exception {
         //Arrange
         RegisterDTO dto = new RegisterDTO("usertest", "password");
         UserRole role = UserRole.USER;
 
+        runHashingInline();
         when(repository.findByLogin(dto.login())).thenReturn(null);
 
         //Act
@@ -128,4 +148,22 @@ class AuthenticationServiceTest {
         verify(repository).findByLogin(dto.login());
         verify(repository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Check if login throws a ServiceBusyException when the password hashing queue is full")
+    void testLogin3() {
+        //Arrange
+        String username = "usertest";
+        String password = "password";
+
+        when(passwordHashingExecutor.execute(eq("verify"), any())).thenThrow(new ServiceBusyException(1));
+
+        //Act & Assert
+        assertThrows(ServiceBusyException.class, () -> {
+            authenticationService.login(username, password);
+        });
+
+        verify(authenticationManager, never()).authenticate(any());
+        verify(tokenService, never()).generateToken(any());
+    }
+}
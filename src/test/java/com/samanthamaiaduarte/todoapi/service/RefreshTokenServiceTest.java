@@ -0,0 +1,154 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.domain.user.LoginResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.RefreshToken;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.exception.RefreshTokenInvalidException;
+import com.samanthamaiaduarte.todoapi.infra.security.TokenDigest;
+import com.samanthamaiaduarte.todoapi.infra.security.TokenService;
+import com.samanthamaiaduarte.todoapi.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+    @Mock
+    private RefreshTokenRepository repository;
+    @Mock
+    private TokenService tokenService;
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    @DisplayName("Check if a new refresh token is stored hashed and returned in clear")
+    void testIssue() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+
+        //Act
+        String result = refreshTokenService.issue(user);
+
+        //Assert
+        ArgumentCaptor<RefreshToken> tokenCaptor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(tokenCaptor.capture());
+
+        RefreshToken saved = tokenCaptor.getValue();
+        assertNotNull(result);
+        assertEquals(TokenDigest.sha256(result), saved.getTokenHash());
+        assertNotEquals(result, saved.getTokenHash());
+        assertEquals(user, saved.getUser());
+        assertFalse(saved.getRevoked());
+    }
+
+    @Test
+    @DisplayName("Check if a valid refresh token is rotated inside its family and returns a new token pair")
+    void testRotate1() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        UUID familyId = UUID.randomUUID();
+        RefreshToken current = new RefreshToken(UUID.randomUUID(), TokenDigest.sha256("refresh-token"), familyId, Instant.now().plus(1, ChronoUnit.DAYS), null, false, user);
+        LoginResponseDTO accessToken = new LoginResponseDTO(LocalDateTime.now(), "bearer", "token", 7200, null);
+
+        when(repository.findByTokenHash(TokenDigest.sha256("refresh-token"))).thenReturn(current);
+        when(repository.markUsed(eq(current.getId()), any(Instant.class))).thenReturn(1);
+        when(tokenService.generateToken(user)).thenReturn(accessToken);
+
+        //Act
+        LoginResponseDTO result = refreshTokenService.rotate("refresh-token");
+
+        //Assert
+        ArgumentCaptor<RefreshToken> tokenCaptor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(tokenCaptor.capture());
+
+        assertEquals("token", result.access_token());
+        assertNotNull(result.refresh_token());
+        assertNotEquals("refresh-token", result.refresh_token());
+        assertEquals(familyId, tokenCaptor.getValue().getFamilyId());
+        verify(repository, never()).revokeFamily(any());
+    }
+
+    @Test
+    @DisplayName("Check if an unknown refresh token throws a RefreshTokenInvalidException")
+    void testRotate2() {
+        //Arrange
+        when(repository.findByTokenHash(TokenDigest.sha256("unknown-token"))).thenReturn(null);
+
+        //Act & Assert
+        assertThrows(RefreshTokenInvalidException.class, () -> {
+            refreshTokenService.rotate("unknown-token");
+        });
+
+        verify(tokenService, never()).generateToken(any());
+    }
+
+    @Test
+    @DisplayName("Check if reusing a rotated refresh token revokes the whole family and throws a RefreshTokenInvalidException")
+    void testRotate3() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        UUID familyId = UUID.randomUUID();
+        RefreshToken used = new RefreshToken(UUID.randomUUID(), TokenDigest.sha256("used-token"), familyId, Instant.now().plus(1, ChronoUnit.DAYS), Instant.now(), false, user);
+
+        when(repository.findByTokenHash(TokenDigest.sha256("used-token"))).thenReturn(used);
+
+        //Act & Assert
+        assertThrows(RefreshTokenInvalidException.class, () -> {
+            refreshTokenService.rotate("used-token");
+        });
+
+        verify(repository).revokeFamily(familyId);
+        verify(tokenService, never()).generateToken(any());
+    }
+
+    @Test
+    @DisplayName("Check if an expired refresh token throws a RefreshTokenInvalidException")
+    void testRotate4() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        RefreshToken expired = new RefreshToken(UUID.randomUUID(), TokenDigest.sha256("expired-token"), UUID.randomUUID(), Instant.now().minus(1, ChronoUnit.DAYS), null, false, user);
+
+        when(repository.findByTokenHash(TokenDigest.sha256("expired-token"))).thenReturn(expired);
+
+        //Act & Assert
+        assertThrows(RefreshTokenInvalidException.class, () -> {
+            refreshTokenService.rotate("expired-token");
+        });
+
+        verify(repository, never()).markUsed(any(), any());
+        verify(tokenService, never()).generateToken(any());
+    }
+
+    @Test
+    @DisplayName("Check if losing a concurrent rotation is treated as reuse and revokes the family")
+    void testRotate5() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        UUID familyId = UUID.randomUUID();
+        RefreshToken current = new RefreshToken(UUID.randomUUID(), TokenDigest.sha256("refresh-token"), familyId, Instant.now().plus(1, ChronoUnit.DAYS), null, false, user);
+
+        when(repository.findByTokenHash(TokenDigest.sha256("refresh-token"))).thenReturn(current);
+        when(repository.markUsed(eq(current.getId()), any(Instant.class))).thenReturn(0);
+
+        //Act & Assert
+        assertThrows(RefreshTokenInvalidException.class, () -> {
+            refreshTokenService.rotate("refresh-token");
+        });
+
+        verify(repository).revokeFamily(familyId);
+        verify(tokenService, never()).generateToken(any());
+    }
+}
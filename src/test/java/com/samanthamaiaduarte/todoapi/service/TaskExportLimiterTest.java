@@ -0,0 +1,56 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskExportLimiterTest {
+    private SimpleMeterRegistry meterRegistry;
+    private TaskExportLimiter taskExportLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskExportLimiter = new TaskExportLimiter();
+        ReflectionTestUtils.setField(taskExportLimiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(taskExportLimiter, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(taskExportLimiter, "retryAfterSeconds", 5L);
+        taskExportLimiter.init();
+    }
+
+    @Test
+    @DisplayName("Check if an export past the cap is rejected with the configured Retry-After and counted")
+    void testRejectedPastCap() {
+        //Arrange
+        taskExportLimiter.acquire();
+        taskExportLimiter.acquire();
+
+        //Act
+        ServiceBusyException result = assertThrows(ServiceBusyException.class, () -> taskExportLimiter.acquire());
+
+        //Assert
+        assertEquals(5, result.getRetryAfterSeconds());
+        assertEquals(2, meterRegistry.get("tasks.export.active").gauge().value());
+        assertEquals(1, meterRegistry.get("tasks.export.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if a released permit lets the next export start")
+    void testRelease() {
+        //Arrange
+        taskExportLimiter.acquire();
+        taskExportLimiter.acquire();
+
+        //Act
+        taskExportLimiter.release();
+
+        //Assert
+        assertDoesNotThrow(() -> taskExportLimiter.acquire());
+        assertEquals(0, meterRegistry.get("tasks.export.rejected").counter().count());
+    }
+}
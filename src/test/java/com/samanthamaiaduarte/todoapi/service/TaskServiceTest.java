@@ -1,25 +1,55 @@
 package com.samanthamaiaduarte.todoapi.service;
 
 import com.samanthamaiaduarte.todoapi.domain.task.Task;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskBulkResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangeDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangedEvent;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangesDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskCursor;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDueDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskDuePageDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskPageDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskRequestDTO;
 import com.samanthamaiaduarte.todoapi.domain.task.TaskResponseDTO;
+import com.samanthamaiaduarte.todoapi.domain.task.TaskStatsDTO;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
 import com.samanthamaiaduarte.todoapi.domain.user.User;
 import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.exception.TaskChangesExpiredException;
+import com.samanthamaiaduarte.todoapi.exception.TaskCursorInvalidException;
+import com.samanthamaiaduarte.todoapi.exception.TaskDueRangeInvalidException;
+import com.samanthamaiaduarte.todoapi.exception.TaskForbiddenException;
 import com.samanthamaiaduarte.todoapi.exception.TaskNotFoundException;
+import com.samanthamaiaduarte.todoapi.infra.cache.TaskCache;
 import com.samanthamaiaduarte.todoapi.infra.mapper.TaskMapper;
 import com.samanthamaiaduarte.todoapi.repository.TaskRepository;
+import com.samanthamaiaduarte.todoapi.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,7 +58,17 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
     @Mock
+    private UserRepository userRepository;
+    @Mock
     private TaskMapper taskMapper;
+    @Mock
+    private TaskCache taskCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     @InjectMocks
     private TaskService taskService;
 
@@ -37,47 +77,107 @@ class TaskServiceTest {
     void testCreateTask() {
         //Arrange
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
         TaskRequestDTO dto = new TaskRequestDTO("Test task", "Task test for create task into TaskService", LocalDate.now().plusDays(5));
         Task task = new Task(UUID.randomUUID(), dto.title(), dto.description(), dto.dueDate(), false, user);
         TaskResponseDTO expectedDto = new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(), task.getCompleted());
 
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
         when(taskMapper.toEntity(dto, user)).thenReturn(task);
         when(taskRepository.save(task)).thenReturn(task);
         when(taskMapper.toDto(task)).thenReturn(expectedDto);
 
         //Act
-        TaskResponseDTO result = taskService.createTask(dto, user);
+        TaskResponseDTO result = taskService.createTask(dto, principal);
 
         //Assert
         assertEquals(expectedDto, result);
+        verify(userRepository).incrementTaskVersion(user.getId());
+        verify(taskCache).evictUser(user.getId());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(user.getId()));
         verify(taskRepository).save(task);
         verify(taskMapper).toEntity(dto, user);
         verify(taskMapper).toDto(task);
     }
 
+    @Test
+    @DisplayName("Check if TaskService calls are timed as tasks.service, tagged with the method")
+    void testServiceTimer() {
+        //Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(taskService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(meterRegistry));
+        TaskService timedTaskService = proxyFactory.getProxy();
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        TaskRequestDTO dto = new TaskRequestDTO("Test task", "Task test for timing into TaskService", LocalDate.now().plusDays(5));
+        Task task = new Task(UUID.randomUUID(), dto.title(), dto.description(), dto.dueDate(), false, user);
+
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(taskMapper.toEntity(dto, user)).thenReturn(task);
+        when(taskRepository.save(task)).thenReturn(task);
+
+        //Act
+        timedTaskService.createTask(dto, AuthenticatedUser.from(user));
+
+        //Assert
+        assertEquals(1, meterRegistry.get("tasks.service").tag("method", "createTask").timer().count());
+    }
+
+    @Test
+    @DisplayName("Check if a batch of tasks is saved at once and return the TaskResponseDTOs in order")
+    void testCreateTasks() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        List<TaskRequestDTO> dtos = List.of(
+                new TaskRequestDTO("Test task1", "Task test for create task into TaskService1", LocalDate.now().plusDays(5)),
+                new TaskRequestDTO("Test task2", "Task test for create task into TaskService2", LocalDate.now().plusDays(6))
+        );
+        List<Task> tasks = dtos.stream()
+                .map(dto -> new Task(null, dto.title(), dto.description(), dto.dueDate(), false, user))
+                .toList();
+        List<TaskResponseDTO> expectedDto = tasks.stream()
+                .map(task -> new TaskResponseDTO(UUID.randomUUID(), task.getTitle(), task.getDescription(), task.getDueDate(), task.getCompleted()))
+                .toList();
+
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(taskMapper.toEntity(dtos.get(0), user)).thenReturn(tasks.get(0));
+        when(taskMapper.toEntity(dtos.get(1), user)).thenReturn(tasks.get(1));
+        when(taskMapper.toDtoList(tasks)).thenReturn(expectedDto);
+
+        //Act
+        List<TaskResponseDTO> result = taskService.createTasks(dtos, principal);
+
+        //Assert
+        assertEquals(expectedDto, result);
+        verify(userRepository).getReferenceById(user.getId());
+        verify(taskRepository).saveAll(tasks);
+        verify(taskRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Check if a task is updated and return a TaskResponseDTO")
     void testUpdateTask1() {
         //Arrange
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
         TaskRequestDTO dto = new TaskRequestDTO("Test task", "Task test for create task into TaskService", LocalDate.now().plusDays(5));
         Task task = new Task(taskId, dto.title(), dto.description(), dto.dueDate(), false, user);
         TaskResponseDTO expectedDto = new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(), task.getCompleted());
 
-        when(taskRepository.findByIdAndUserId(taskId, user.getId())).thenReturn(task);
-        doNothing().when(taskMapper).updateTaskFromDto(dto, task);
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.updateByIdAndUserId(taskId, user.getId(), dto.title(), dto.description(), dto.dueDate())).thenReturn(Optional.of(task));
         when(taskMapper.toDto(task)).thenReturn(expectedDto);
 
         //Act
-        TaskResponseDTO result = taskService.updateTask(taskId, dto, user);
+        TaskResponseDTO result = taskService.updateTask(taskId, dto, principal);
 
         //Assert
         assertEquals(expectedDto, result);
-        verify(taskRepository).save(task);
-        verify(taskMapper).updateTaskFromDto(dto, task);
-        verify(taskMapper).toDto(task);
+        verify(taskRepository).updateByIdAndUserId(taskId, user.getId(), dto.title(), dto.description(), dto.dueDate());
+        verify(taskRepository, never()).existsById(any());
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
@@ -86,16 +186,37 @@ class TaskServiceTest {
         //Arrange
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
         TaskRequestDTO dto = new TaskRequestDTO("Test task", "Task test for create task into TaskService", LocalDate.now().plusDays(5));
 
-        when(taskRepository.findByIdAndUserId(taskId, user.getId())).thenReturn(null);
+        when(taskRepository.updateByIdAndUserId(taskId, user.getId(), dto.title(), dto.description(), dto.dueDate())).thenReturn(Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(false);
 
         //Act & Assert
         assertThrows(TaskNotFoundException.class, () -> {
-            taskService.updateTask(taskId, dto, user);
+            taskService.updateTask(taskId, dto, principal);
+        });
+
+        verify(taskMapper, never()).toDto(any());
+    }
+
+    @Test
+    @DisplayName("Check if a task from another user can't be updated and throws a TaskForbiddenException")
+    void testUpdateTask3() {
+        //Arrange
+        UUID taskId = UUID.randomUUID();
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        TaskRequestDTO dto = new TaskRequestDTO("Test task", "Task test for create task into TaskService", LocalDate.now().plusDays(5));
+
+        when(taskRepository.updateByIdAndUserId(taskId, user.getId(), dto.title(), dto.description(), dto.dueDate())).thenReturn(Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+
+        //Act & Assert
+        assertThrows(TaskForbiddenException.class, () -> {
+            taskService.updateTask(taskId, dto, principal);
         });
 
-        verify(taskRepository, never()).save(any());
         verify(taskMapper, never()).toDto(any());
     }
 
@@ -105,15 +226,17 @@ class TaskServiceTest {
         //Arrange
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
-        Task task = new Task(taskId, "Test task", "Task test for create task into TaskService", LocalDate.now().plusDays(5), false, user);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
 
-        when(taskRepository.findByIdAndUserId(taskId, user.getId())).thenReturn(task);
+        when(taskRepository.deleteAllByIdAndUserId(List.of(taskId), user.getId())).thenReturn(List.of(taskId));
 
         //Act
-        taskService.deleteTask(taskId, user);
+        taskService.deleteTask(taskId, principal);
 
         //Assert
-        verify(taskRepository).delete(task);
+        verify(taskRepository).deleteAllByIdAndUserId(List.of(taskId), user.getId());
+        verify(taskRepository, never()).delete(any());
+        verify(userRepository).incrementTaskVersion(user.getId());
     }
 
     @Test
@@ -122,15 +245,14 @@ class TaskServiceTest {
         //Arrange
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
 
-        when(taskRepository.findByIdAndUserId(taskId, user.getId())).thenReturn(null);
+        when(taskRepository.deleteAllByIdAndUserId(List.of(taskId), user.getId())).thenReturn(List.of());
 
         //Act & Assert
         assertThrows(TaskNotFoundException.class, () -> {
-            taskService.deleteTask(taskId, user);
+            taskService.deleteTask(taskId, principal);
         });
-
-        verify(taskRepository, never()).delete(any());
     }
 
     @Test
@@ -139,17 +261,18 @@ class TaskServiceTest {
         //Arrange
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
-        Task task = new Task(taskId, "Test task", "Task test for create task into TaskService", LocalDate.now().plusDays(5), false, user);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
 
-        when(taskRepository.findByIdAndUserId(taskId, user.getId())).thenReturn(task);
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.completeByIdAndUserId(taskId, user.getId())).thenReturn(1);
 
         //Act
-        taskService.completedTask(taskId, user);
+        taskService.completedTask(taskId, principal);
 
         //Assert
-        assertTrue(task.getCompleted());
-        verify(taskRepository).save(task);
+        verify(taskRepository).completeByIdAndUserId(taskId, user.getId());
+        verify(taskRepository, never()).save(any());
+        verify(userRepository).incrementTaskVersion(user.getId());
+        verify(taskCache).evictUser(user.getId());
     }
 
     @Test
@@ -158,15 +281,175 @@ class TaskServiceTest {
         //Arrange
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
 
-        when(taskRepository.findByIdAndUserId(taskId, user.getId())).thenReturn(null);
+        when(taskRepository.completeByIdAndUserId(taskId, user.getId())).thenReturn(0);
 
         //Act & Assert
         assertThrows(TaskNotFoundException.class, () -> {
-            taskService.completedTask(taskId, user);
+            taskService.completedTask(taskId, principal);
         });
+    }
 
-        verify(taskRepository, never()).save(any());
+    @Test
+    @DisplayName("Check if a list of tasks is completed at once and the ids not found are reported")
+    void testCompletedTasks() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        UUID owned1 = UUID.randomUUID();
+        UUID owned2 = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        List<UUID> taskIds = List.of(owned1, missing, owned2, missing);
+
+        when(taskRepository.completeAllByIdAndUserId(taskIds, user.getId())).thenReturn(List.of(owned1, owned2));
+
+        //Act
+        TaskBulkResponseDTO result = taskService.completedTasks(taskIds, principal);
+
+        //Assert
+        assertEquals(List.of(owned1, owned2), result.affected());
+        assertEquals(List.of(missing), result.notFound());
+        verify(taskRepository).completeAllByIdAndUserId(taskIds, user.getId());
+    }
+
+    @Test
+    @DisplayName("Check if a list of tasks is deleted at once and the ids not found are reported")
+    void testDeleteTasks() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        UUID owned = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        List<UUID> taskIds = List.of(owned, missing);
+
+        when(taskRepository.deleteAllByIdAndUserId(taskIds, user.getId())).thenReturn(List.of(owned));
+
+        //Act
+        TaskBulkResponseDTO result = taskService.deleteTasks(taskIds, principal);
+
+        //Assert
+        assertEquals(List.of(owned), result.affected());
+        assertEquals(List.of(missing), result.notFound());
+        verify(taskRepository).deleteAllByIdAndUserId(taskIds, user.getId());
+    }
+
+    @Test
+    @DisplayName("Check if the changes since the cursor are returned with tombstones and the cursor of the last change")
+    void testSelectChanges1() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        UUID updatedId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        LocalDate dueDate = LocalDate.now().plusDays(5);
+
+        TaskRepository.TaskChange updated = mock(TaskRepository.TaskChange.class);
+        when(updated.getId()).thenReturn(updatedId);
+        when(updated.getTitle()).thenReturn("Test task");
+        when(updated.getDueDate()).thenReturn(dueDate);
+        when(updated.getCompleted()).thenReturn(true);
+        TaskRepository.TaskChange deleted = mock(TaskRepository.TaskChange.class);
+        when(deleted.getId()).thenReturn(deletedId);
+        // Tombstones only keep the id: completed comes back NULL, not the false a Boolean mock defaults to.
+        when(deleted.getCompleted()).thenReturn(null);
+        when(deleted.getDeleted()).thenReturn(true);
+        when(deleted.getChangeSeq()).thenReturn(42L);
+
+        when(taskRepository.findChangesSince(user.getId(), 10L, TaskService.MAX_CHANGES + 1)).thenReturn(List.of(updated, deleted));
+
+        //Act
+        TaskChangesDTO result = taskService.selectChanges(principal, "10");
+
+        //Assert
+        assertEquals(List.of(
+                new TaskChangeDTO(updatedId, "Test task", null, dueDate, true, false),
+                new TaskChangeDTO(deletedId, null, null, null, null, true)
+        ), result.changes());
+        assertEquals("42", result.cursor());
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    @DisplayName("Check if no changes since the cursor keeps the same cursor")
+    void testSelectChanges2() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        when(taskRepository.findChangesSince(user.getId(), 42L, TaskService.MAX_CHANGES + 1)).thenReturn(List.of());
+
+        //Act
+        TaskChangesDTO result = taskService.selectChanges(principal, "42");
+
+        //Assert
+        assertTrue(result.changes().isEmpty());
+        assertEquals("42", result.cursor());
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    @DisplayName("Check if an invalid changes cursor throws a TaskCursorInvalidException")
+    void testSelectChanges3() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        //Act & Assert
+        assertThrows(TaskCursorInvalidException.class, () -> {
+            taskService.selectChanges(principal, "yesterday");
+        });
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Check if a changes cursor below the purged tombstones throws a TaskChangesExpiredException")
+    void testSelectChanges4() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        when(taskRepository.findChangesSince(user.getId(), 10L, TaskService.MAX_CHANGES + 1)).thenReturn(List.of());
+        when(taskRepository.findChangesHorizon()).thenReturn(20L);
+
+        //Act & Assert
+        assertThrows(TaskChangesExpiredException.class, () -> {
+            taskService.selectChanges(principal, "10");
+        });
+    }
+
+    @Test
+    @DisplayName("Check if the task set version of a user is returned")
+    void testSelectTasksVersion() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        when(userRepository.findTaskVersionById(user.getId())).thenReturn(9L);
+
+        //Act
+        long result = taskService.selectTasksVersion(principal);
+
+        //Assert
+        assertEquals(9L, result);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Check if the version of a task from another user throws a TaskNotFoundException")
+    void testSelectTaskVersion() {
+        //Arrange
+        UUID taskId = UUID.randomUUID();
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        when(taskRepository.findVersionByIdAndUserId(taskId, user.getId())).thenReturn(null);
+
+        //Act & Assert
+        assertThrows(TaskNotFoundException.class, () -> {
+            taskService.selectTaskVersion(taskId, principal);
+        });
     }
 
     @Test
@@ -175,19 +458,19 @@ class TaskServiceTest {
         //Arrange
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
         Task task = new Task(taskId, "Test task", "Task test for create task into TaskService", LocalDate.now().plusDays(5), false, user);
         TaskResponseDTO expectedDto = new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(), task.getCompleted());
 
-        when(taskRepository.findByIdAndUserId(taskId, user.getId())).thenReturn(task);
-        when(taskMapper.toDto(task)).thenReturn(expectedDto);
+        when(taskRepository.findDtoByIdAndUserId(taskId, user.getId())).thenReturn(expectedDto);
 
         //Act
-        TaskResponseDTO result = taskService.selectTask(taskId, user);
+        TaskResponseDTO result = taskService.selectTask(taskId, principal);
 
         //Assert
         assertEquals(expectedDto, result);
-        verify(taskRepository).findByIdAndUserId(taskId, user.getId());
-        verify(taskMapper).toDto(task);
+        verify(taskRepository).findDtoByIdAndUserId(taskId, user.getId());
+        verifyNoInteractions(taskMapper);
     }
 
     @Test
@@ -196,15 +479,14 @@ class TaskServiceTest {
         //Arrange
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
 
-        when(taskRepository.findByIdAndUserId(taskId, user.getId())).thenReturn(null);
+        when(taskRepository.findDtoByIdAndUserId(taskId, user.getId())).thenReturn(null);
 
         //Act & Assert
         assertThrows(TaskNotFoundException.class, () -> {
-            taskService.selectTask(taskId, user);
+            taskService.selectTask(taskId, principal);
         });
-
-        verify(taskMapper, never()).toDto(any());
     }
 
     @Test
@@ -213,6 +495,7 @@ class TaskServiceTest {
         //Arrange
         Boolean completed = false;
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
 
         List<Task> tasks = List.of(
                 new Task(UUID.randomUUID(), "Test task1", "Task test for create task into TaskService1", LocalDate.now().plusDays(5), completed, user),
@@ -224,16 +507,16 @@ class TaskServiceTest {
                                                  .map(task -> new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(), task.getCompleted()))
                                                  .toList();
 
-        when(taskRepository.findAllByUserIdAndCompleted(user.getId(), completed)).thenReturn(tasks);
-        when(taskMapper.toDtoList(tasks)).thenReturn(expectedDto);
+        when(taskRepository.findPage(user.getId(), completed, Limit.of(51))).thenReturn(expectedDto);
 
         //Act
-        List<TaskResponseDTO> result = taskService.selectTasks(user, completed);
+        TaskPageDTO result = taskService.selectTasks(principal, completed, null, 50);
 
         //Assert
-        assertEquals(expectedDto, result);
-        verify(taskRepository).findAllByUserIdAndCompleted(user.getId(), completed);
-        verify(taskMapper).toDtoList(tasks);
+        assertEquals(expectedDto, result.tasks());
+        assertNull(result.nextCursor());
+        verify(taskRepository).findPage(user.getId(), completed, Limit.of(51));
+        verifyNoInteractions(taskMapper);
     }
 
     @Test
@@ -242,6 +525,7 @@ class TaskServiceTest {
         //Arrange
         Boolean completed = true;
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
 
         List<Task> tasks = List.of(
                 new Task(UUID.randomUUID(), "Test task1", "Task test for create task into TaskService1", LocalDate.now().plusDays(5), completed, user),
@@ -253,16 +537,58 @@ class TaskServiceTest {
                 .map(task -> new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(), task.getCompleted()))
                 .toList();
 
-        when(taskRepository.findAllByUserIdAndCompleted(user.getId(), completed)).thenReturn(tasks);
-        when(taskMapper.toDtoList(tasks)).thenReturn(expectedDto);
+        when(taskRepository.findPage(user.getId(), completed, Limit.of(51))).thenReturn(expectedDto);
 
         //Act
-        List<TaskResponseDTO> result = taskService.selectTasks(user, completed);
+        TaskPageDTO result = taskService.selectTasks(principal, completed, null, 50);
 
         //Assert
-        assertEquals(expectedDto, result);
-        verify(taskRepository).findAllByUserIdAndCompleted(user.getId(), completed);
-        verify(taskMapper).toDtoList(tasks);
+        assertEquals(expectedDto, result.tasks());
+        assertNull(result.nextCursor());
+        verify(taskRepository).findPage(user.getId(), completed, Limit.of(51));
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    @DisplayName("Check if a cached page of tasks is returned without querying the database")
+    void testSelectTasksCached() {
+        //Arrange
+        Boolean completed = false;
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        TaskCache.Key key = new TaskCache.Key(user.getId(), 1L, "page", Arrays.asList(completed, null, 50));
+        TaskPageDTO cached = new TaskPageDTO(List.of(new TaskResponseDTO(UUID.randomUUID(), "Test task1", "Task test for create task into TaskService1", LocalDate.now(), completed)), null);
+
+        when(taskCache.key(user.getId(), "page", completed, null, 50)).thenReturn(key);
+        when(taskCache.get(key, TaskPageDTO.class)).thenReturn(cached);
+
+        //Act
+        TaskPageDTO result = taskService.selectTasks(principal, completed, null, 50);
+
+        //Assert
+        assertSame(cached, result);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Check if a page of tasks read from the database is stored in the cache")
+    void testSelectTasksCacheMiss() {
+        //Arrange
+        Boolean completed = false;
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        TaskCache.Key key = new TaskCache.Key(user.getId(), 1L, "page", Arrays.asList(completed, null, 50));
+        List<TaskResponseDTO> expectedDto = List.of(new TaskResponseDTO(UUID.randomUUID(), "Test task1", "Task test for create task into TaskService1", LocalDate.now(), completed));
+
+        when(taskCache.key(user.getId(), "page", completed, null, 50)).thenReturn(key);
+        when(taskRepository.findPage(user.getId(), completed, Limit.of(51))).thenReturn(expectedDto);
+
+        //Act
+        TaskPageDTO result = taskService.selectTasks(principal, completed, null, 50);
+
+        //Assert
+        verify(taskCache).put(key, result);
+        assertEquals(expectedDto, result.tasks());
     }
 
     @Test
@@ -272,14 +598,285 @@ class TaskServiceTest {
         Boolean completed = true;
         UUID taskId = UUID.randomUUID();
         User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        when(taskRepository.findPage(user.getId(), completed, Limit.of(51))).thenReturn(List.of());
+
+        //Act & Assert
+        assertThrows(TaskNotFoundException.class, () -> {
+            taskService.selectTasks(principal, completed, null, 50);
+        });
+    }
+
+    @Test
+    @DisplayName("Check if a full page continues after the cursor and returns the cursor of its last task")
+    void testSelectTasks4() {
+        //Arrange
+        Boolean completed = false;
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        TaskCursor cursor = new TaskCursor(LocalDate.now(), UUID.randomUUID());
+
+        List<Task> tasks = List.of(
+                new Task(UUID.randomUUID(), "Test task1", "Task test for create task into TaskService1", LocalDate.now().plusDays(1), completed, user),
+                new Task(UUID.randomUUID(), "Test task2", "Task test for create task into TaskService2", LocalDate.now().plusDays(2), completed, user),
+                new Task(UUID.randomUUID(), "Test task3", "Task test for create task into TaskService3", LocalDate.now().plusDays(3), completed, user)
+        );
+        List<TaskResponseDTO> fetched = tasks.stream()
+                .map(task -> new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(), task.getCompleted()))
+                .toList();
+        List<TaskResponseDTO> expectedDto = fetched.subList(0, 2);
+
+        when(taskRepository.findPageAfter(user.getId(), completed, cursor.dueDate(), cursor.id(), Limit.of(3))).thenReturn(fetched);
+
+        //Act
+        TaskPageDTO result = taskService.selectTasks(principal, completed, cursor.encode(), 2);
+
+        //Assert
+        assertEquals(expectedDto, result.tasks());
+        assertEquals(TaskCursor.of(expectedDto.getLast()), TaskCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Check if the page size is capped")
+    void testSelectTasks5() {
+        //Arrange
+        Boolean completed = false;
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
 
-        when(taskRepository.findAllByUserIdAndCompleted(user.getId(), completed)).thenReturn(List.of());
+        when(taskRepository.findPage(user.getId(), completed, Limit.of(TaskService.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
 
         //Act & Assert
         assertThrows(TaskNotFoundException.class, () -> {
-            taskService.selectTasks(user, completed);
+            taskService.selectTasks(principal, completed, null, 100_000);
         });
 
-        verify(taskMapper, never()).toDtoList(any());
+        verify(taskRepository).findPage(user.getId(), completed, Limit.of(TaskService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Check if the tasks due in a range are read with the range bounds and return a TaskPageDTO")
+    void testSelectDueTasks1() {
+        //Arrange
+        Boolean completed = false;
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(6);
+
+        List<TaskResponseDTO> expectedDto = List.of(
+                new TaskResponseDTO(UUID.randomUUID(), "Test task1", "Task test for due tasks into TaskService1", from, completed),
+                new TaskResponseDTO(UUID.randomUUID(), "Test task2", "Task test for due tasks into TaskService2", to, completed)
+        );
+
+        when(taskRepository.findDuePage(user.getId(), completed, from, to, Limit.of(51))).thenReturn(expectedDto);
+
+        //Act
+        TaskPageDTO result = taskService.selectDueTasks(principal, completed, from, to, null, 50);
+
+        //Assert
+        assertEquals(expectedDto, result.tasks());
+        assertNull(result.nextCursor());
+        verify(taskCache).put(any(), eq(result));
+    }
+
+    @Test
+    @DisplayName("Check if a due range continues after the cursor up to the end of the range")
+    void testSelectDueTasks2() {
+        //Arrange
+        Boolean completed = false;
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(6);
+        TaskCursor cursor = new TaskCursor(from.plusDays(2), UUID.randomUUID());
+
+        List<TaskResponseDTO> expectedDto = List.of(
+                new TaskResponseDTO(UUID.randomUUID(), "Test task1", "Task test for due tasks into TaskService1", from.plusDays(3), completed)
+        );
+
+        when(taskRepository.findDuePageAfter(user.getId(), completed, to, cursor.dueDate(), cursor.id(), Limit.of(51))).thenReturn(expectedDto);
+
+        //Act
+        TaskPageDTO result = taskService.selectDueTasks(principal, completed, from, to, cursor.encode(), 50);
+
+        //Assert
+        assertEquals(expectedDto, result.tasks());
+        verify(taskRepository, never()).findDuePage(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Check if a range starting after its end throws a TaskDueRangeInvalidException")
+    void testSelectDueTasks3() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        LocalDate from = LocalDate.now();
+
+        //Act & Assert
+        assertThrows(TaskDueRangeInvalidException.class, () -> {
+            taskService.selectDueTasks(principal, false, from, from.minusDays(1), null, 50);
+        });
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Check if a cursor from before the range throws a TaskCursorInvalidException")
+    void testSelectDueTasks4() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        LocalDate from = LocalDate.now();
+        TaskCursor cursor = new TaskCursor(from.minusDays(1), UUID.randomUUID());
+
+        //Act & Assert
+        assertThrows(TaskCursorInvalidException.class, () -> {
+            taskService.selectDueTasks(principal, false, from, from.plusDays(6), cursor.encode(), 50);
+        });
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Check if the overdue tasks are the open tasks due until yesterday and return a TaskDuePageDTO")
+    void testSelectOverdueTasks() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        List<TaskDueDTO> expectedDto = List.of(
+                new TaskDueDTO(UUID.randomUUID(), "Test task1", yesterday.minusDays(3)),
+                new TaskDueDTO(UUID.randomUUID(), "Test task2", yesterday)
+        );
+
+        when(taskRepository.findOpenDueUntil(user.getId(), yesterday, Limit.of(51))).thenReturn(expectedDto);
+
+        //Act
+        TaskDuePageDTO result = taskService.selectOverdueTasks(principal, null, 50);
+
+        //Assert
+        assertEquals(expectedDto, result.tasks());
+        assertNull(result.nextCursor());
+        verify(taskCache).put(any(), eq(result));
+    }
+
+    @Test
+    @DisplayName("Check if the tasks due soon are the open tasks due from today to the given days ahead")
+    void testSelectDueSoonTasks1() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        LocalDate today = LocalDate.now();
+
+        List<TaskDueDTO> fetched = List.of(
+                new TaskDueDTO(UUID.randomUUID(), "Test task1", today),
+                new TaskDueDTO(UUID.randomUUID(), "Test task2", today.plusDays(1)),
+                new TaskDueDTO(UUID.randomUUID(), "Test task3", today.plusDays(7))
+        );
+
+        when(taskRepository.findOpenDueBetween(user.getId(), today, today.plusDays(7), Limit.of(3))).thenReturn(fetched);
+
+        //Act
+        TaskDuePageDTO result = taskService.selectDueSoonTasks(principal, 7, null, 2);
+
+        //Assert
+        assertEquals(fetched.subList(0, 2), result.tasks());
+        assertEquals(TaskCursor.of(fetched.get(1)), TaskCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Check if a number of days out of range throws a TaskDueRangeInvalidException")
+    void testSelectDueSoonTasks2() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        //Act & Assert
+        assertThrows(TaskDueRangeInvalidException.class, () -> taskService.selectDueSoonTasks(principal, -1, null, 50));
+        assertThrows(TaskDueRangeInvalidException.class, () -> taskService.selectDueSoonTasks(principal, TaskService.MAX_DUE_SOON_DAYS + 1, null, 50));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Check if the task stats are read from the counters of the user as of today")
+    void testSelectTaskStats1() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        TaskRepository.TaskStats row = mock(TaskRepository.TaskStats.class);
+        when(row.getOpen()).thenReturn(12L);
+        when(row.getCompleted()).thenReturn(30L);
+        when(row.getOverdue()).thenReturn(3L);
+        when(row.getDueToday()).thenReturn(2L);
+
+        when(taskRepository.findStats(user.getId(), LocalDate.now())).thenReturn(row);
+
+        //Act
+        TaskStatsDTO result = taskService.selectTaskStats(principal);
+
+        //Assert
+        assertEquals(new TaskStatsDTO(12, 30, 3, 2), result);
+        verify(taskCache).put(any(), eq(result));
+    }
+
+    @Test
+    @DisplayName("Check if the task stats are zero for a user without counters")
+    void testSelectTaskStats2() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+
+        when(taskRepository.findStats(user.getId(), LocalDate.now())).thenReturn(null);
+
+        //Act
+        TaskStatsDTO result = taskService.selectTaskStats(principal);
+
+        //Assert
+        assertEquals(new TaskStatsDTO(0, 0, 0, 0), result);
+    }
+
+    @Test
+    @DisplayName("Check if cached task stats are returned without reading the counters")
+    void testSelectTaskStats3() {
+        //Arrange
+        User user = new User(UUID.randomUUID(), "usertest", "test", UserRole.USER);
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        TaskStatsDTO cached = new TaskStatsDTO(1, 2, 0, 1);
+
+        when(taskCache.get(any(), eq(TaskStatsDTO.class))).thenReturn(cached);
+
+        //Act
+        TaskStatsDTO result = taskService.selectTaskStats(principal);
+
+        //Assert
+        assertSame(cached, result);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Check if the export writes one JSON task per line")
+    void testExportTasks() throws IOException {
+        //Arrange
+        AuthenticatedUser principal = new AuthenticatedUser(UUID.randomUUID(), "usertest", UserRole.USER);
+        TaskResponseDTO task1 = new TaskResponseDTO(UUID.randomUUID(), "Test task1", "Task test for export", LocalDate.of(2025, 6, 28), false);
+        TaskResponseDTO task2 = new TaskResponseDTO(UUID.randomUUID(), "Test task2", null, LocalDate.of(2025, 6, 29), true);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        when(taskRepository.streamAllByUserId(principal.id())).thenReturn(Stream.of(task1, task2));
+
+        //Act
+        taskService.exportTasks(principal, output);
+
+        //Assert
+        String[] lines = output.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(output.toString().endsWith("\n"));
+        assertEquals(task1, objectMapper.readValue(lines[0], TaskResponseDTO.class));
+        assertEquals(task2, objectMapper.readValue(lines[1], TaskResponseDTO.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,256 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.domain.task.TaskChangedEvent;
+import com.samanthamaiaduarte.todoapi.domain.user.AuthenticatedUser;
+import com.samanthamaiaduarte.todoapi.domain.user.User;
+import com.samanthamaiaduarte.todoapi.domain.user.UserRole;
+import com.samanthamaiaduarte.todoapi.exception.TaskChangesExpiredException;
+import com.samanthamaiaduarte.todoapi.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStreamServiceTest {
+    @Mock
+    private TaskRepository taskRepository;
+    @InjectMocks
+    private TaskStreamService taskStreamService;
+
+    private final List<TestEmitter> emitters = new CopyOnWriteArrayList<>();
+    // Applied to the emitters created from then on.
+    private volatile CountDownLatch release;
+    private volatile IOException failure;
+    private SimpleMeterRegistry meterRegistry;
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(taskStreamService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(taskStreamService, "emitters", (LongFunction<SseEmitter>) timeout -> {
+            TestEmitter emitter = new TestEmitter(timeout, release, failure);
+            emitters.add(emitter);
+            return emitter;
+        });
+        ReflectionTestUtils.setField(taskStreamService, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(taskStreamService, "bufferSize", 16);
+        taskStreamService.registerMetrics();
+
+        principal = AuthenticatedUser.from(new User(UUID.randomUUID(), "usertest", "test", UserRole.USER));
+    }
+
+    @Test
+    @DisplayName("Check if a new stream starts from the latest change of the user and is counted as a connection")
+    void testSubscribe() {
+        //Arrange
+        when(taskRepository.findLatestChangeSeq(principal.id())).thenReturn(42L);
+        lenient().when(taskRepository.findChangesSince(principal.id(), 42L, TaskService.MAX_CHANGES)).thenReturn(List.of());
+
+        //Act
+        SseEmitter result = taskStreamService.subscribe(principal, null);
+
+        //Assert
+        assertNotNull(result);
+        assertEquals(1, taskStreamService.getConnections());
+        verify(taskRepository, timeout(1000)).findChangesSince(principal.id(), 42L, TaskService.MAX_CHANGES);
+    }
+
+    @Test
+    @DisplayName("Check if a stream with Last-Event-ID replays the changes after it instead of starting from the latest")
+    void testSubscribeResume() {
+        //Arrange
+        when(taskRepository.findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES)).thenReturn(List.of());
+
+        //Act
+        taskStreamService.subscribe(principal, "57");
+
+        //Assert
+        verify(taskRepository, timeout(1000)).findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES);
+        verify(taskRepository, never()).findLatestChangeSeq(any());
+    }
+
+    @Test
+    @DisplayName("Check if a Last-Event-ID below the purged tombstones is refused before the stream opens")
+    void testSubscribeExpired() {
+        //Arrange
+        when(taskRepository.findChangesHorizon()).thenReturn(100L);
+
+        //Act & Assert
+        assertThrows(TaskChangesExpiredException.class, () -> taskStreamService.subscribe(principal, "57"));
+        assertEquals(0, taskStreamService.getConnections());
+        verify(taskRepository, never()).findChangesSince(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Check if a committed change of the user makes the stream read the changes feed again")
+    void testOnTaskChanged() {
+        //Arrange
+        when(taskRepository.findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES)).thenReturn(List.of());
+        taskStreamService.subscribe(principal, "57");
+        verify(taskRepository, timeout(1000)).findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES);
+
+        //Act
+        taskStreamService.onTaskChanged(new TaskChangedEvent(principal.id()));
+
+        //Assert
+        verify(taskRepository, timeout(1000).times(2)).findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES);
+    }
+
+    @Test
+    @DisplayName("Check if a stream whose buffer fills up is closed and counted as dropped")
+    void testBufferFull() throws InterruptedException {
+        //Arrange
+        ReflectionTestUtils.setField(taskStreamService, "bufferSize", 2);
+        lenient().when(taskRepository.findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES)).thenReturn(List.of());
+        release = new CountDownLatch(1);
+        taskStreamService.subscribe(principal, "57");
+        TestEmitter emitter = emitters.getFirst();
+
+        // The writer is now blocked on the ready event, as it would be on a client that stopped reading.
+        assertTrue(emitter.sending.await(1, TimeUnit.SECONDS));
+
+        //Act
+        taskStreamService.heartbeat();
+        taskStreamService.heartbeat();
+        int beforeFull = taskStreamService.getConnections();
+        taskStreamService.heartbeat();
+
+        //Assert
+        assertEquals(1, beforeFull);
+        assertEquals(0, taskStreamService.getConnections());
+        assertEquals(0, meterRegistry.get("tasks.stream.connections").gauge().value());
+        assertEquals(1, meterRegistry.get("tasks.stream.dropped").counter().count());
+        assertTrue(emitter.completed);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Check if the heartbeat sends a comment to every open stream")
+    void testHeartbeat() {
+        //Arrange
+        lenient().when(taskRepository.findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES)).thenReturn(List.of());
+        taskStreamService.subscribe(principal, "57");
+        TestEmitter emitter = emitters.getFirst();
+        awaitSent(emitter, 1);
+
+        //Act
+        taskStreamService.heartbeat();
+
+        //Assert
+        awaitSent(emitter, 2);
+        assertTrue(emitter.sent.getFirst().contains("event:ready"));
+        assertTrue(emitter.sent.get(1).startsWith(":heartbeat"));
+        assertEquals(0, meterRegistry.get("tasks.stream.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if the connections gauge goes down once when a stream completes or fails")
+    void testConnectionsGauge() {
+        //Arrange
+        lenient().when(taskRepository.findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES)).thenReturn(List.of());
+        taskStreamService.subscribe(principal, "57");
+        taskStreamService.subscribe(principal, "57");
+        double opened = meterRegistry.get("tasks.stream.connections").gauge().value();
+
+        //Act
+        emitters.get(0).completion.run();
+        emitters.get(0).error.accept(new IOException("Broken pipe"));
+        double afterCompletion = meterRegistry.get("tasks.stream.connections").gauge().value();
+        emitters.get(1).error.accept(new IOException("Broken pipe"));
+
+        //Assert
+        assertEquals(2, opened);
+        assertEquals(1, afterCompletion);
+        assertEquals(0, meterRegistry.get("tasks.stream.connections").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Check if a stream whose client is gone is removed when the write fails")
+    void testWriteFailure() {
+        //Arrange
+        lenient().when(taskRepository.findChangesSince(principal.id(), 57L, TaskService.MAX_CHANGES)).thenReturn(List.of());
+        failure = new IOException("Broken pipe");
+
+        //Act
+        taskStreamService.subscribe(principal, "57");
+
+        //Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while(taskStreamService.getConnections() > 0 && System.nanoTime() < deadline) Thread.onSpinWait();
+        assertEquals(0, taskStreamService.getConnections());
+        assertEquals(0, meterRegistry.get("tasks.stream.dropped").counter().count());
+    }
+
+    private static void awaitSent(TestEmitter emitter, int count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while(emitter.sent.size() < count && System.nanoTime() < deadline) Thread.onSpinWait();
+        assertEquals(count, emitter.sent.size());
+    }
+
+    // Records what is sent and the callbacks the service registers; a send waits for release, if any, then fails with failure, if any.
+    private static final class TestEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private final IOException failure;
+        private volatile boolean completed;
+        private volatile Runnable completion;
+        private volatile Consumer<Throwable> error;
+
+        private TestEmitter(long timeout, CountDownLatch release, IOException failure) {
+            super(timeout);
+            this.release = release;
+            this.failure = failure;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                if(release != null) release.await();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            if(failure != null) throw failure;
+
+            sent.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completion = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            error = callback;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
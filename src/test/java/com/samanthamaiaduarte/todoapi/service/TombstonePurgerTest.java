@@ -0,0 +1,62 @@
+package com.samanthamaiaduarte.todoapi.service;
+
+import com.samanthamaiaduarte.todoapi.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TombstonePurgerTest {
+    @Mock
+    private TaskRepository taskRepository;
+    @InjectMocks
+    private TombstonePurger tombstonePurger;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(tombstonePurger, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(tombstonePurger, "retentionDays", 30);
+        ReflectionTestUtils.setField(tombstonePurger, "batchSize", 100);
+        tombstonePurger.registerMetrics();
+    }
+
+    @Test
+    @DisplayName("Check if batches are purged until one comes back short and every tombstone is counted")
+    void testPurge() {
+        //Arrange
+        when(taskRepository.purgeTombstones(30, 100)).thenReturn(100L, 100L, 7L);
+
+        //Act
+        tombstonePurger.purge();
+
+        //Assert
+        verify(taskRepository, times(3)).purgeTombstones(30, 100);
+        assertEquals(207, meterRegistry.get("tasks.tombstones.purged").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if a run with nothing to purge stops after one batch")
+    void testPurgeNothing() {
+        //Arrange
+        when(taskRepository.purgeTombstones(30, 100)).thenReturn(0L);
+
+        //Act
+        tombstonePurger.purge();
+
+        //Assert
+        verify(taskRepository).purgeTombstones(30, 100);
+        assertEquals(0, meterRegistry.get("tasks.tombstones.purged").counter().count());
+    }
+}
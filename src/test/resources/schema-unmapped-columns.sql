@@ -0,0 +1,6 @@
+-- Columns written only by native queries (V7 and V8 migrations), so Hibernate's create-drop schema doesn't have them.
+ALTER TABLE users ADD COLUMN task_version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE SEQUENCE task_change_seq;
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT DEFAULT nextval('task_change_seq') NOT NULL;